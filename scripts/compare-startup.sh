@@ -0,0 +1,63 @@
+#!/usr/bin/env bash
+#
+# Compares startup time and memory of the JVM and native builds on the same
+# /products workload. Start the backend first (docker compose up -d).
+#
+#   mvn clean package -DskipTests                      # JVM jar
+#   mvn -Pnative native:compile -DskipTests            # native executable
+#   scripts/compare-startup.sh [requests]
+#
+# For each build it reports the time from launch to the first successful
+# GET /products, and the resident set size after that first request and
+# after the given number of further requests (default 500).
+set -euo pipefail
+
+REQUESTS="${1:-500}"
+PORT="${PORT:-8081}"
+URL="http://localhost:${PORT}/products"
+TARGET="$(cd "$(dirname "$0")/../target" && pwd)"
+JAR="$(ls "${TARGET}"/*.jar 2>/dev/null | grep -v -e '-cds.jar$' | head -n 1 || true)"
+NATIVE="${TARGET}/testcontainers-with-spring-boot-trinodb-old"
+
+now_ms() {
+  date +%s%3N
+}
+
+rss_mb() {
+  echo $(( $(ps -o rss= -p "$1") / 1024 ))
+}
+
+measure() {
+  local label="$1"
+  shift
+  local start pid first rss_first rss_load
+  start=$(now_ms)
+  "$@" --server.port="${PORT}" --spring.sql.init.mode=never > "${TARGET}/startup-${label}.log" 2>&1 &
+  pid=$!
+  until curl -sf -o /dev/null "${URL}"; do
+    if ! kill -0 "${pid}" 2>/dev/null; then
+      echo "${label}: application exited, see ${TARGET}/startup-${label}.log" >&2
+      return 1
+    fi
+    sleep 0.05
+  done
+  first=$(( $(now_ms) - start ))
+  rss_first=$(rss_mb "${pid}")
+  for _ in $(seq "${REQUESTS}"); do
+    curl -sf -o /dev/null "${URL}"
+  done
+  rss_load=$(rss_mb "${pid}")
+  kill "${pid}"
+  wait "${pid}" 2>/dev/null || true
+  printf '%-8s %22s %20s %24s\n' "${label}" "${first}" "${rss_first}" "${rss_load}"
+}
+
+printf '%-8s %22s %20s %24s\n' "build" "first /products (ms)" "RSS first (MB)" "RSS after ${REQUESTS} (MB)"
+if [[ -n "${JAR}" ]]; then
+  measure jvm java -jar "${JAR}"
+fi
+if [[ -x "${NATIVE}" ]]; then
+  measure native "${NATIVE}"
+else
+  echo "native   (not built: mvn -Pnative native:compile -DskipTests)"
+fi
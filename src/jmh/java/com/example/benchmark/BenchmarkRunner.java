@@ -0,0 +1,39 @@
+package com.example.benchmark;
+
+import java.io.File;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the {@code benchmark} Maven profile.
+ * <p>
+ * Accepts the regular JMH command line and, unless {@code -rf}/{@code -rff}
+ * are given, writes the results as JSON to the file named by the
+ * {@code benchmark.results} system property so runs of different releases
+ * can be compared.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            File results = new File(System.getProperty("benchmark.results", "target/jmh-result.json"));
+            if (results.getParentFile() != null) {
+                results.getParentFile().mkdirs();
+            }
+            options.result(results.getPath());
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.benchmark;
+
+import java.io.OutputStream;
+
+/**
+ * Discards everything written to it while counting the bytes, so benchmarks
+ * can report payload size without paying for I/O.
+ */
+final class CountingOutputStream extends OutputStream {
+
+    long count;
+
+    @Override
+    public void write(int b) {
+        count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        count += len;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.benchmark;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.controller.ProductArrowWriter;
+import com.example.controller.ProductJsonSerializer;
+import com.example.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+/**
+ * Serialization cost of the {@code GET /products} response body, as JSON and
+ * as the Arrow stream sent for {@code application/vnd.apache.arrow.stream}.
+ * <p>
+ * The mappers are built with {@link Jackson2ObjectMapperBuilder}, which applies
+ * the same defaults as the one Spring Boot hands to the controller;
+ * {@code serializeListTuned} adds {@link ProductJsonSerializer} as the
+ * application does, {@code serializeList} uses Jackson's bean serializer.
+ * Every encoding returns its size in bytes, which is also printed once per
+ * trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "--add-opens=java.base/java.nio=ALL-UNNAMED"})
+public class JsonSerializationBenchmark {
+
+    @Param({"10", "10000", "1000000"})
+    public int rows;
+
+    /** Rows per Arrow record batch, as {@code app.products.arrow.batch-size}. */
+    @Param({"4096"})
+    public int arrowBatchSize;
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper tunedObjectMapper;
+    private BufferAllocator allocator;
+    private List<Product> products;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        tunedObjectMapper = Jackson2ObjectMapperBuilder.json()
+                .modulesToInstall(new SimpleModule().addSerializer(new ProductJsonSerializer()))
+                .build();
+        allocator = new RootAllocator();
+        products = SyntheticProducts.list(rows);
+        long json = serializeList();
+        long arrow = serializeArrow();
+        System.out.printf(Locale.ROOT, "%n%d rows: JSON %d bytes, Arrow %d bytes (%.1f%%)%n",
+                rows, json, arrow, 100.0 * arrow / json);
+    }
+
+    @TearDown
+    public void tearDown() {
+        allocator.close();
+    }
+
+    @Benchmark
+    public long serializeList() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        objectMapper.writeValue(out, products);
+        return out.count;
+    }
+
+    @Benchmark
+    public long serializeListTuned() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        tunedObjectMapper.writeValue(out, products);
+        return out.count;
+    }
+
+    @Benchmark
+    public long serializeArrow() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        try (ProductArrowWriter writer = new ProductArrowWriter(allocator, out, arrowBatchSize)) {
+            writer.start();
+            for (Product product : products) {
+                writer.write(product);
+            }
+            writer.finish();
+        }
+        return out.count;
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load generator for {@code GET /products}.
+ * <p>
+ * Runs {@code concurrency} clients that each issue requests back to back for
+ * a fixed duration after a warm-up, then prints throughput, errors and
+ * latency percentiles and optionally writes them as JSON. Failed requests
+ * (non-2xx or I/O errors) count towards the percentiles with the time they
+ * took, so a slow failure is not hidden from p99, but not towards throughput;
+ * after a failure the client backs off exponentially instead of spinning
+ * against a broken server. Used to compare the
+ * platform-thread default against the {@code virtual-threads} profile on the
+ * same workload.
+ * <p>
+ * Arguments are {@code key=value} pairs: {@code url}, {@code concurrency},
+ * {@code warmup}, {@code duration} (ISO-8601 or seconds), {@code label} and
+ * {@code output}.
+ */
+public final class ProductsLoadBenchmark {
+
+    private static final long MIN_BACKOFF_MILLIS = 10;
+    private static final long MAX_BACKOFF_MILLIS = 1000;
+
+    private ProductsLoadBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        URI uri = URI.create(options.getOrDefault("url", "http://localhost:8081/products"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "1000"));
+        Duration warmup = duration(options.getOrDefault("warmup", "10"));
+        Duration duration = duration(options.getOrDefault("duration", "30"));
+        String label = options.getOrDefault("label", "default");
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+
+        System.out.printf(Locale.ROOT, "Warming up %s with %d clients for %s...%n", uri, concurrency, warmup);
+        run(client, request, concurrency, warmup);
+        System.out.printf(Locale.ROOT, "Measuring for %s...%n", duration);
+        Result result = run(client, request, concurrency, duration);
+
+        System.out.printf(Locale.ROOT, "%.1f successful requests/s, %d of %d requests failed, p99 %.2f ms%n",
+                result.throughput(), result.errors(), result.requests(), result.percentileMillis(99));
+        String json = result.toJson(label, concurrency);
+        System.out.println(json);
+        if (options.containsKey("output")) {
+            Path output = Path.of(options.get("output"));
+            if (output.getParent() != null) {
+                Files.createDirectories(output.getParent());
+            }
+            Files.writeString(output, json, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static Result run(HttpClient client, HttpRequest request, int concurrency, Duration duration)
+            throws InterruptedException {
+        long end = System.nanoTime() + duration.toNanos();
+        long[][] latencies = new long[concurrency][];
+        int[] counts = new int[concurrency];
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(concurrency);
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        for (int i = 0; i < concurrency; i++) {
+            int slot = i;
+            clients.execute(() -> {
+                long[] buffer = new long[1024];
+                int n = 0;
+                long backoffMillis = 0;
+                try {
+                    while (System.nanoTime() < end) {
+                        long t0 = System.nanoTime();
+                        boolean failed;
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            failed = response.statusCode() / 100 != 2;
+                        } catch (IOException e) {
+                            failed = true;
+                        }
+                        if (n == buffer.length) {
+                            buffer = Arrays.copyOf(buffer, n * 2);
+                        }
+                        buffer[n++] = System.nanoTime() - t0;
+                        if (failed) {
+                            errors.incrementAndGet();
+                            backoffMillis = backoffMillis == 0
+                                    ? MIN_BACKOFF_MILLIS : Math.min(MAX_BACKOFF_MILLIS, backoffMillis * 2);
+                            Thread.sleep(backoffMillis);
+                        } else {
+                            backoffMillis = 0;
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    latencies[slot] = buffer;
+                    counts[slot] = n;
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        long elapsed = System.nanoTime() - start;
+        clients.shutdown();
+
+        int total = Arrays.stream(counts).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        for (int i = 0; i < concurrency; i++) {
+            System.arraycopy(latencies[i], 0, all, offset, counts[i]);
+            offset += counts[i];
+        }
+        Arrays.sort(all);
+        return new Result(all, errors.get(), elapsed);
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                options.put(arg.substring(0, eq), arg.substring(eq + 1));
+            }
+        }
+        return options;
+    }
+
+    private static Duration duration(String value) {
+        return value.startsWith("P") ? Duration.parse(value) : Duration.ofSeconds(Long.parseLong(value));
+    }
+
+    /**
+     * @param sortedLatencies latencies of all requests, successful or not
+     */
+    private record Result(long[] sortedLatencies, long errors, long elapsedNanos) {
+
+        int requests() {
+            return sortedLatencies.length;
+        }
+
+        /** Successful requests per second. */
+        double throughput() {
+            return (sortedLatencies.length - errors) / (elapsedNanos / 1e9);
+        }
+
+        double percentileMillis(double p) {
+            if (sortedLatencies.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(p / 100.0 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / 1e6;
+        }
+
+        String toJson(String label, int concurrency) {
+            return String.format(Locale.ROOT,
+                    "{\"label\":\"%s\",\"concurrency\":%d,\"requests\":%d,\"errors\":%d,"
+                            + "\"throughputPerSecond\":%.1f,\"p50Millis\":%.2f,\"p99Millis\":%.2f,\"maxMillis\":%.2f}",
+                    label, concurrency, sortedLatencies.length, errors, throughput(),
+                    percentileMillis(50), percentileMillis(99), percentileMillis(100));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.TrinoApplication;
+import com.example.model.Product;
+import com.example.repository.ProductRepository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * End-to-end latency of repository queries, from pooled connection to mapped
+ * rows, against a running backend.
+ * <p>
+ * The application context is started without the web layer and with the
+ * result cache disabled. The backend defaults to the Docker Compose setup and
+ * can be pointed elsewhere with {@code -Dapp.trino.jdbc.url=...}; the
+ * {@code products} table must hold at least {@code rows} rows, e.g. filled
+ * with {@code --app.products.seed.rows=10000000}, or the trial fails.
+ * <p>
+ * With {@code -p backend=embedded} the benchmark needs neither Docker nor a
+ * running backend: each trial starts an embedded PostgreSQL, seeds it with
+ * {@code rows} rows and routes queries to it, so only {@code routing=postgres}
+ * and {@code auto} apply.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+// The application context includes the Arrow configuration; same flag as arrow.jvm.args in the pom.
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "--add-opens=java.base/java.nio=ALL-UNNAMED"})
+public class QueryLatencyBenchmark {
+
+    /** Page size, from a single round trip up to materializing 10M mapped rows. */
+    @Param({"10", "1000", "100000", "1000000", "10000000"})
+    public int rows;
+
+    /** {@code app.products.routing.mode}: {@code trino} measures Trino, {@code auto} the direct PostgreSQL route. */
+    @Param({"trino", "auto"})
+    public String routing;
+
+    /** {@code external} uses the configured backend, {@code embedded} an in-process PostgreSQL without Trino. */
+    @Param({"external"})
+    public String backend;
+
+    private EmbeddedPostgres embeddedPostgres;
+    private ConfigurableApplicationContext context;
+    private ProductRepository repository;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws IOException {
+        List<String> properties = new ArrayList<>(List.of(
+                "app.products.cache.enabled=false",
+                "app.trino.single-flight.enabled=false",
+                "app.products.routing.mode=" + routing));
+        if ("embedded".equals(backend)) {
+            if ("trino".equals(routing)) {
+                throw new IllegalArgumentException("The embedded backend has no Trino; use -p routing=postgres or auto");
+            }
+            embeddedPostgres = EmbeddedPostgres.builder().start();
+            properties.addAll(List.of(
+                    "spring.datasource.url=" + embeddedPostgres.getJdbcUrl("postgres", "postgres"),
+                    "spring.datasource.username=postgres",
+                    "spring.sql.init.mode=always",
+                    "app.products.seed.rows=" + rows,
+                    "app.trino.pool.min-idle=0",
+                    "app.trino.pool.prewarm=false"));
+        } else {
+            properties.add("spring.sql.init.mode=never");
+        }
+        // As command-line arguments, so they override application.properties;
+        // builder properties are only defaults.
+        context = new SpringApplicationBuilder(TrinoApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(properties.stream().map(property -> "--" + property).toArray(String[]::new));
+        repository = context.getBean(ProductRepository.class);
+        int available = repository.findPage(null, rows).getItems().size();
+        if (available < rows) {
+            throw new IllegalStateException("The products table holds " + available + " rows, the benchmark needs "
+                    + rows + "; seed it with --app.products.seed.rows or pass a smaller -p rows");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() throws IOException {
+        context.close();
+        if (embeddedPostgres != null) {
+            embeddedPostgres.close();
+        }
+    }
+
+    @Benchmark
+    public List<Product> firstPage() {
+        return repository.findPage(null, rows).getItems();
+    }
+}
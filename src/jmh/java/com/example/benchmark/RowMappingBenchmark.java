@@ -0,0 +1,60 @@
+package com.example.benchmark;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.example.model.Product;
+import com.example.repository.ProductRowMapper;
+
+/**
+ * Compares the original label-based row mapping loop with
+ * {@link ProductRowMapper}, which reads columns by position. Rows are consumed
+ * as they are mapped, so even 10M rows need no extra heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RowMappingBenchmark {
+
+    @Param({"10", "10000", "1000000", "10000000"})
+    public int rows;
+
+    @Benchmark
+    public void byLabel(Blackhole blackhole) throws SQLException {
+        ResultSet rs = SyntheticResultSet.products(rows);
+        while (rs.next()) {
+            Product p = new Product();
+            p.setId(rs.getInt("id"));
+            p.setName(rs.getString("name"));
+            p.setCategory(rs.getString("category"));
+            p.setPrice(rs.getDouble("price"));
+            p.setStockQuantity(rs.getInt("stock_quantity"));
+            blackhole.consume(p);
+        }
+    }
+
+    @Benchmark
+    public void byPosition(Blackhole blackhole) throws SQLException {
+        ResultSet rs = SyntheticResultSet.products(rows);
+        int rowNum = 0;
+        while (rs.next()) {
+            blackhole.consume(ProductRowMapper.INSTANCE.mapRow(rs, rowNum++));
+        }
+    }
+}
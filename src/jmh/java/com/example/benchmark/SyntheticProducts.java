@@ -0,0 +1,35 @@
+package com.example.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.model.Product;
+
+/**
+ * Deterministically generated products shared by the benchmarks.
+ */
+final class SyntheticProducts {
+
+    private static final String[] CATEGORIES = {"Electronics", "Kitchen", "Office", "Garden"};
+
+    private SyntheticProducts() {
+    }
+
+    static Product product(int index) {
+        Product p = new Product();
+        p.setId(index + 1);
+        p.setName("Product " + index);
+        p.setCategory(CATEGORIES[index % CATEGORIES.length]);
+        p.setPrice(1.5 * (index % 1000));
+        p.setStockQuantity(index % 500);
+        return p;
+    }
+
+    static List<Product> list(int rows) {
+        List<Product> products = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            products.add(product(i));
+        }
+        return products;
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.benchmark;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * In-memory {@link ResultSet} over generated {@code products} rows.
+ * <p>
+ * Column values are read from arrays that repeat every {@value #BLOCK_ROWS}
+ * rows, so even 10M rows need no extra heap. Column labels are resolved the
+ * way the Trino driver does it, through a lower-cased label-to-index map, and
+ * the getters are ordinary methods, so the label-based and position-based
+ * paths differ only in that lookup.
+ */
+public final class SyntheticResultSet extends UnsupportedResultSet {
+
+    static final String[] LABELS = {"id", "name", "category", "price", "stock_quantity"};
+
+    private static final int BLOCK_ROWS = 4096;
+    private static final String[] CATEGORIES = {"Electronics", "Kitchen", "Office", "Garden"};
+
+    private static final String[] NAMES = new String[BLOCK_ROWS];
+    private static final String[] CATEGORY_VALUES = new String[BLOCK_ROWS];
+    private static final double[] PRICES = new double[BLOCK_ROWS];
+    private static final int[] STOCK_QUANTITIES = new int[BLOCK_ROWS];
+
+    static {
+        for (int i = 0; i < BLOCK_ROWS; i++) {
+            NAMES[i] = "Product " + (i % 1024);
+            CATEGORY_VALUES[i] = CATEGORIES[i % CATEGORIES.length];
+            PRICES[i] = 1.5 * (i % 1000);
+            STOCK_QUANTITIES[i] = i % 500;
+        }
+    }
+
+    private final Map<String, Integer> columnIndex = new HashMap<>();
+    private final int rows;
+    private int row = -1;
+    private int slot = -1;
+    private boolean closed;
+
+    private SyntheticResultSet(int rows) {
+        this.rows = rows;
+        for (int i = 0; i < LABELS.length; i++) {
+            columnIndex.put(LABELS[i], i + 1);
+        }
+    }
+
+    public static ResultSet products(int rows) {
+        return new SyntheticResultSet(rows);
+    }
+
+    @Override
+    public boolean next() {
+        if (++row >= rows) {
+            return false;
+        }
+        slot = row % BLOCK_ROWS;
+        return true;
+    }
+
+    @Override
+    public int getInt(int columnIndex) throws SQLException {
+        return switch (columnIndex) {
+            case 1 -> row + 1;
+            case 5 -> STOCK_QUANTITIES[slot];
+            default -> throw typeMismatch(columnIndex, "int");
+        };
+    }
+
+    @Override
+    public String getString(int columnIndex) throws SQLException {
+        return switch (columnIndex) {
+            case 2 -> NAMES[slot];
+            case 3 -> CATEGORY_VALUES[slot];
+            default -> throw typeMismatch(columnIndex, "String");
+        };
+    }
+
+    @Override
+    public double getDouble(int columnIndex) throws SQLException {
+        if (columnIndex != 4) {
+            throw typeMismatch(columnIndex, "double");
+        }
+        return PRICES[slot];
+    }
+
+    @Override
+    public int getInt(String columnLabel) throws SQLException {
+        return getInt(findColumn(columnLabel));
+    }
+
+    @Override
+    public String getString(String columnLabel) throws SQLException {
+        return getString(findColumn(columnLabel));
+    }
+
+    @Override
+    public double getDouble(String columnLabel) throws SQLException {
+        return getDouble(findColumn(columnLabel));
+    }
+
+    @Override
+    public int findColumn(String columnLabel) throws SQLException {
+        Integer index = columnIndex.get(columnLabel.toLowerCase(Locale.ENGLISH));
+        if (index == null) {
+            throw new SQLException("Invalid column label: " + columnLabel);
+        }
+        return index;
+    }
+
+    @Override
+    public boolean wasNull() {
+        return false;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    private static SQLException typeMismatch(int columnIndex, String type) {
+        return new SQLException("Column " + columnIndex + " cannot be read as " + type);
+    }
+}
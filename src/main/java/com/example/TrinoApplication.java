@@ -3,11 +3,13 @@ package com.example;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 /**
  * Entry point for the Spring Boot application.
  */
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class TrinoApplication {
     public static void main(String[] args) {
         SpringApplication.run(TrinoApplication.class, args);
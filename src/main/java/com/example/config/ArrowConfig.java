@@ -0,0 +1,36 @@
+package com.example.config;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Off-heap memory for Arrow responses.
+ * <p>
+ * Each response takes a child allocator of this one, so the limit caps the
+ * direct memory held by all concurrent Arrow streams together, and a leak in
+ * one response is reported when its child allocator is closed.
+ * <p>
+ * The allocator is created on the first Arrow request rather than at
+ * startup: creating it initializes Arrow's {@code Unsafe}-based memory
+ * access, which fails without {@code --add-opens=java.base/java.nio} and in a
+ * native image. Without them only the Arrow representation is unavailable.
+ */
+@Configuration
+public class ArrowConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArrowConfig.class);
+
+    @Bean(destroyMethod = "close")
+    @Lazy
+    public BufferAllocator arrowAllocator(@Value("${app.products.arrow.max-memory:256MB}") DataSize maxMemory) {
+        logger.info("Arrow allocator limited to {} bytes", maxMemory.toBytes());
+        return new RootAllocator(maxMemory.toBytes());
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.config;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import com.example.model.CategoryStats;
+import com.example.model.Product;
+import com.example.model.ProductPage;
+
+/**
+ * Reachability metadata for the native image built with {@code -Pnative}.
+ * <p>
+ * Spring's AOT processing already covers the controllers and configuration
+ * classes. The models are registered explicitly because some endpoints
+ * serialize them without a declared return type (NDJSON streaming, projected
+ * searches). The Trino JDBC driver has no metadata of its own: it is loaded
+ * reflectively by name from the connection pool, and its shaded Jackson
+ * deserializes the client protocol classes reflectively. All hints are
+ * ignored on the JVM.
+ */
+@Configuration(proxyBeanMethods = false)
+@RegisterReflectionForBinding({Product.class, ProductPage.class, CategoryStats.class})
+@ImportRuntimeHints(NativeHintsConfig.TrinoJdbcHints.class)
+public class NativeHintsConfig {
+
+    static class TrinoJdbcHints implements RuntimeHintsRegistrar {
+
+        /** Client protocol types, relocated by the shading of the trino-jdbc jar. */
+        private static final String[] CLIENT_TYPES = {
+                "ClientTypeSignature", "ClientTypeSignatureParameter", "Column", "ErrorLocation",
+                "FailureInfo", "QueryError", "QueryResults", "RowFieldName", "StageStats",
+                "StatementStats", "Warning", "Warning$Code", "NamedClientTypeSignature"
+        };
+
+        private static final String CLIENT_PACKAGE = "io.trino.jdbc.$internal.client.";
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.reflection().registerType(TypeReference.of("io.trino.jdbc.TrinoDriver"),
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            for (String type : CLIENT_TYPES) {
+                hints.reflection().registerType(TypeReference.of(CLIENT_PACKAGE + type),
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS,
+                        MemberCategory.DECLARED_FIELDS);
+            }
+            hints.resources().registerPattern("io/trino/jdbc/*.properties");
+        }
+    }
+}
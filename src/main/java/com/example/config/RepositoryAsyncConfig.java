@@ -0,0 +1,69 @@
+package com.example.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor for the asynchronous repository API.
+ * <p>
+ * Kept separate from Spring's {@code applicationTaskExecutor} so that slow
+ * Trino queries cannot starve other asynchronous work, and bounded so that a
+ * burst of requests fails fast instead of piling up unbounded work.
+ * <p>
+ * Declaring any {@code Executor} bean makes Spring Boot back off from creating
+ * {@code applicationTaskExecutor}, which Spring MVC needs for asynchronous
+ * requests such as the NDJSON stream, so it is declared here as well using
+ * Boot's own builders and {@code spring.task.execution.*} settings.
+ */
+@Configuration
+public class RepositoryAsyncConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(RepositoryAsyncConfig.class);
+
+    public static final String REPOSITORY_EXECUTOR = "repositoryTaskExecutor";
+
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor(
+            ThreadPoolTaskExecutorBuilder threadPoolTaskExecutorBuilder,
+            SimpleAsyncTaskExecutorBuilder simpleAsyncTaskExecutorBuilder,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads && JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE)) {
+            return simpleAsyncTaskExecutorBuilder.build();
+        }
+        return threadPoolTaskExecutorBuilder.build();
+    }
+
+    @Bean(name = REPOSITORY_EXECUTOR)
+    public AsyncTaskExecutor repositoryTaskExecutor(
+            @Value("${app.products.async.max-concurrency:16}") int maxConcurrency,
+            @Value("${app.products.async.queue-capacity:200}") int queueCapacity,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads && JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE)) {
+            // One virtual thread per query; the limit throttles submitters once reached.
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("trino-async-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(maxConcurrency);
+            logger.info("Repository async executor uses virtual threads (max concurrency: {})", maxConcurrency);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("trino-async-");
+        executor.setCorePoolSize(maxConcurrency);
+        executor.setMaxPoolSize(maxConcurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        logger.info("Repository async executor uses {} platform threads (queue capacity: {})",
+                maxConcurrency, queueCapacity);
+        return executor;
+    }
+}
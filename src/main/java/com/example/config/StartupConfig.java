@@ -0,0 +1,26 @@
+package com.example.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Startup settings for the {@code fast-start} profile.
+ * <p>
+ * With {@code spring.main.lazy-initialization=true} every bean is created on
+ * first use, which also delays the connection pool, repository and controller
+ * to the first request. This filter keeps the application's own beans eager,
+ * so only framework extras that no request path needs up front, such as the
+ * OpenAPI and Swagger UI beans, are deferred. It has no effect unless lazy
+ * initialization is enabled.
+ */
+@Configuration
+public class StartupConfig {
+
+    private static final String APPLICATION_PACKAGE = "com.example.";
+
+    @Bean
+    static LazyInitializationExcludeFilter applicationBeansEager() {
+        return (beanName, beanDefinition, beanType) -> beanType.getName().startsWith(APPLICATION_PACKAGE);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.config;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Logs how long after JVM start the application became ready and served its
+ * first successful {@code GET /products}, the figure that matters when new
+ * instances are started to absorb a traffic spike.
+ * <p>
+ * The second value is also published as the
+ * {@code application.first.products.time} gauge, next to Spring Boot's own
+ * {@code application.started.time} and {@code application.ready.time}.
+ */
+@Component
+public class StartupReport extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupReport.class);
+
+    private static final String PRODUCTS_PATH = "/products";
+
+    private final AtomicBoolean reported = new AtomicBoolean();
+    private volatile long readyMillis = -1;
+    private volatile long firstProductsMillis = -1;
+
+    public StartupReport(ObjectProvider<MeterRegistry> meterRegistry) {
+        meterRegistry.ifAvailable(registry -> TimeGauge.builder("application.first.products.time", this,
+                        TimeUnit.MILLISECONDS,
+                        report -> report.firstProductsMillis < 0 ? Double.NaN : report.firstProductsMillis)
+                .description("Time from JVM start until the first successful GET /products")
+                .register(registry));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady(ApplicationReadyEvent event) {
+        readyMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        logger.info("Startup report: ready {} ms after JVM start (Spring context: {} ms).",
+                readyMillis, event.getTimeTaken() == null ? "n/a" : event.getTimeTaken().toMillis());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return reported.get() || !"GET".equals(request.getMethod()) || !PRODUCTS_PATH.equals(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        chain.doFilter(request, response);
+        int status = response.getStatus();
+        if (status >= 200 && status < 300 && reported.compareAndSet(false, true)) {
+            firstProductsMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+            logger.info("Startup report: first successful GET {} {} ms after JVM start, {} ms after ready "
+                            + "(request took {} ms).", PRODUCTS_PATH, firstProductsMillis,
+                    readyMillis < 0 ? "n/a" : firstProductsMillis - readyMillis,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+}
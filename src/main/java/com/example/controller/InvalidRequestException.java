@@ -0,0 +1,17 @@
+package com.example.controller;
+
+/**
+ * Thrown by {@link ProductController} when request parameters are invalid.
+ * It is the only exception answered with 400, so that argument errors from
+ * deeper layers still surface as server errors.
+ */
+class InvalidRequestException extends RuntimeException {
+
+    InvalidRequestException(String message) {
+        super(message);
+    }
+
+    InvalidRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.controller;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+import com.example.model.CategoryDictionary;
+import com.example.model.Product;
+import com.example.repository.ProductColumn;
+
+/**
+ * Encodes products as an Apache Arrow IPC stream of record batches.
+ * <p>
+ * Rows are appended one at a time, as they come off the result set, and a
+ * record batch is written every {@code batchSize} rows, so memory is bounded
+ * by one batch. {@code category} is dictionary-encoded: each batch carries
+ * int indices into a dictionary that grows as new categories appear, and a
+ * replacement dictionary is only sent before a batch that added one. Stream
+ * indices are looked up by the product's {@link CategoryDictionary} id, so no
+ * category name is hashed per row.
+ * <p>
+ * Closing the writer releases its vectors but leaves the output stream open.
+ */
+public final class ProductArrowWriter implements AutoCloseable {
+
+    public static final String MEDIA_TYPE = "application/vnd.apache.arrow.stream";
+
+    private static final long CATEGORY_DICTIONARY_ID = 0;
+    private static final ArrowType.Int INT32 = new ArrowType.Int(32, true);
+
+    static final Schema SCHEMA = new Schema(List.of(
+            new Field(ProductColumn.ID.property(), FieldType.notNullable(INT32), null),
+            new Field(ProductColumn.NAME.property(), FieldType.nullable(ArrowType.Utf8.INSTANCE), null),
+            new Field(ProductColumn.CATEGORY.property(),
+                    new FieldType(true, INT32, new DictionaryEncoding(CATEGORY_DICTIONARY_ID, false, INT32)), null),
+            new Field(ProductColumn.PRICE.property(),
+                    FieldType.notNullable(new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE)), null),
+            new Field(ProductColumn.STOCK_QUANTITY.property(), FieldType.notNullable(INT32), null)));
+
+    private final VectorSchemaRoot root;
+    private final IntVector ids;
+    private final VarCharVector names;
+    private final IntVector categoryIndexes;
+    private final Float8Vector prices;
+    private final IntVector stockQuantities;
+    private final VarCharVector categoryDictionary;
+    /** Stream dictionary index + 1 per {@link CategoryDictionary} id, 0 if not yet sent. */
+    private int[] categoryIndexByDictionaryId = new int[64];
+    /** Stream dictionary indexes of categories the shared dictionary could not hold. */
+    private final Map<String, Integer> unencodedCategoryIndexes = new HashMap<>();
+    private int categoryCount;
+    private final ArrowStreamWriter writer;
+    private final int batchSize;
+    private int batchRows;
+    private long rows;
+
+    /**
+     * @param allocator source of the vectors' buffers, typically a child
+     *                  allocator per response
+     * @param out       stream the Arrow IPC messages are written to
+     * @param batchSize rows per record batch
+     */
+    public ProductArrowWriter(BufferAllocator allocator, OutputStream out, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        this.batchSize = batchSize;
+        this.root = VectorSchemaRoot.create(SCHEMA, allocator);
+        this.ids = (IntVector) root.getVector(ProductColumn.ID.property());
+        this.names = (VarCharVector) root.getVector(ProductColumn.NAME.property());
+        this.categoryIndexes = (IntVector) root.getVector(ProductColumn.CATEGORY.property());
+        this.prices = (Float8Vector) root.getVector(ProductColumn.PRICE.property());
+        this.stockQuantities = (IntVector) root.getVector(ProductColumn.STOCK_QUANTITY.property());
+        this.categoryDictionary = new VarCharVector("category-dictionary", allocator);
+        this.categoryDictionary.allocateNew();
+        this.root.allocateNew();
+        Dictionary dictionary = new Dictionary(categoryDictionary,
+                SCHEMA.findField(ProductColumn.CATEGORY.property()).getDictionary());
+        this.writer = new ArrowStreamWriter(root, new DictionaryProvider.MapDictionaryProvider(dictionary),
+                nonClosing(out));
+    }
+
+    /**
+     * Writes the schema message. Must be called before the first row.
+     */
+    public void start() throws IOException {
+        writer.start();
+    }
+
+    /**
+     * Appends a row, writing a record batch once {@code batchSize} rows are
+     * buffered.
+     */
+    public void write(Product product) throws IOException {
+        int row = batchRows;
+        ids.setSafe(row, product.getId());
+        if (product.getName() == null) {
+            names.setNull(row);
+        } else {
+            names.setSafe(row, product.getName().getBytes(StandardCharsets.UTF_8));
+        }
+        int categoryIndex = categoryIndex(product);
+        if (categoryIndex < 0) {
+            categoryIndexes.setNull(row);
+        } else {
+            categoryIndexes.setSafe(row, categoryIndex);
+        }
+        prices.setSafe(row, product.getPrice());
+        stockQuantities.setSafe(row, product.getStockQuantity());
+        rows++;
+        if (++batchRows == batchSize) {
+            writeBatch();
+        }
+    }
+
+    /**
+     * Writes the buffered rows and the end-of-stream marker.
+     *
+     * @return the number of rows written
+     */
+    public long finish() throws IOException {
+        if (batchRows > 0) {
+            writeBatch();
+        }
+        writer.end();
+        return rows;
+    }
+
+    /**
+     * @return the product's index in the stream's category dictionary, adding
+     *         the category if it is new, or -1 if it has none
+     */
+    private int categoryIndex(Product product) {
+        int dictionaryId = product.getCategoryId();
+        if (dictionaryId == CategoryDictionary.NONE) {
+            String category = product.getCategory();
+            if (category == null) {
+                return -1;
+            }
+            Integer index = unencodedCategoryIndexes.get(category);
+            if (index == null) {
+                index = addCategory(category);
+                unencodedCategoryIndexes.put(category, index);
+            }
+            return index;
+        }
+        if (dictionaryId >= categoryIndexByDictionaryId.length) {
+            categoryIndexByDictionaryId = Arrays.copyOf(categoryIndexByDictionaryId,
+                    Math.max(dictionaryId + 1, categoryIndexByDictionaryId.length * 2));
+        }
+        int index = categoryIndexByDictionaryId[dictionaryId] - 1;
+        if (index < 0) {
+            index = addCategory(product.getCategory());
+            categoryIndexByDictionaryId[dictionaryId] = index + 1;
+        }
+        return index;
+    }
+
+    private int addCategory(String category) {
+        int index = categoryCount++;
+        categoryDictionary.setSafe(index, category.getBytes(StandardCharsets.UTF_8));
+        categoryDictionary.setValueCount(categoryCount);
+        return index;
+    }
+
+    private void writeBatch() throws IOException {
+        root.setRowCount(batchRows);
+        writer.writeBatch();
+        // Keep the buffers for the next batch, only the contents are cleared.
+        for (FieldVector vector : root.getFieldVectors()) {
+            vector.reset();
+        }
+        batchRows = 0;
+    }
+
+    @Override
+    public void close() {
+        // Releases the writer's copies of sent dictionaries; the stream stays open.
+        writer.close();
+        root.close();
+        categoryDictionary.close();
+    }
+
+    private static OutputStream nonClosing(OutputStream out) {
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                out.flush();
+            }
+        };
+    }
+}
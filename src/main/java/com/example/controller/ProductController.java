@@ -1,15 +1,47 @@
-
 package com.example.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
 
+import org.apache.arrow.memory.BufferAllocator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NativeDetector;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.model.CategoryStats;
 import com.example.model.Product;
+import com.example.model.ProductPage;
+import com.example.repository.ProductColumn;
+import com.example.repository.ProductCursor;
+import com.example.repository.ProductDataVersion;
+import com.example.repository.ProductFilter;
+import com.example.repository.ProductIdBatcher;
 import com.example.repository.ProductRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
 /**
  * REST controller to expose product data via HTTP endpoint.
@@ -18,15 +50,280 @@ import com.example.repository.ProductRepository;
 public class ProductController {
 
     private static final Logger logger = LoggerFactory.getLogger(ProductController.class);
+
+    /** Rows written between explicit flushes of the NDJSON stream. */
+    private static final int NDJSON_FLUSH_INTERVAL = 1000;
+
     private final ProductRepository repository;
+    private final ProductIdBatcher idBatcher;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter productWriter;
+    private final int maxPageSize;
+    private final int maxBatchIds;
+    private final ObjectProvider<BufferAllocator> arrowAllocator;
+    private final int arrowBatchSize;
 
-    public ProductController(ProductRepository repository) {
+    public ProductController(
+            ProductRepository repository,
+            ProductIdBatcher idBatcher,
+            ObjectMapper objectMapper,
+            @Value("${app.products.page.max-size:1000}") int maxPageSize,
+            @Value("${app.products.batch.max-ids:10000}") int maxBatchIds,
+            ObjectProvider<BufferAllocator> arrowAllocator,
+            @Value("${app.products.arrow.batch-size:4096}") int arrowBatchSize) {
         this.repository = repository;
+        this.idBatcher = idBatcher;
+        this.objectMapper = objectMapper;
+        this.maxPageSize = maxPageSize;
+        this.maxBatchIds = maxBatchIds;
+        this.arrowAllocator = arrowAllocator;
+        this.arrowBatchSize = arrowBatchSize;
+        this.productWriter = objectMapper.writerFor(Product.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
+    /**
+     * All products. Responses carry an {@code ETag} and {@code Last-Modified}
+     * for the current data version, and a matching {@code If-None-Match} or
+     * {@code If-Modified-Since} is answered with 304 before any query runs.
+     */
     @GetMapping("/products")
-    public List<Product> getAllProducts() {
+    public List<Product> getAllProducts(WebRequest request) {
         logger.info("Handling GET /products");
+        if (isNotModified(request, repository.findDataVersion(), "json")) {
+            return null;
+        }
         return repository.findAll();
     }
+
+    /**
+     * Asynchronous variant of {@code GET /products}: the servlet thread is
+     * released while Trino works. With one or more {@code category} values the
+     * per-category queries run concurrently and their results are concatenated.
+     */
+    @GetMapping("/products/async")
+    public CompletableFuture<List<Product>> getProductsAsync(
+            @RequestParam(name = "category", required = false) List<String> categories) {
+        logger.info("Handling GET /products/async for categories: {}", categories);
+        if (categories == null || categories.isEmpty()) {
+            return repository.findAllAsync();
+        }
+        List<CompletableFuture<List<Product>>> queries = categories.stream()
+                .distinct()
+                .map(repository::findByCategoryAsync)
+                .toList();
+        return CompletableFuture.allOf(queries.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> queries.stream()
+                        .flatMap(query -> query.join().stream())
+                        .toList());
+    }
+
+    /**
+     * Single product lookup. Concurrent lookups from different requests are
+     * merged into one Trino query by {@link ProductIdBatcher}.
+     */
+    @GetMapping("/products/{id:\\d+}")
+    public CompletableFuture<ResponseEntity<Product>> getProduct(@PathVariable("id") int id) {
+        logger.info("Handling GET /products/{}", id);
+        return idBatcher.load(id).thenApply(product -> ResponseEntity.of(product));
+    }
+
+    /**
+     * Multi-get by id. The body is a JSON array of ids; the response lists the
+     * products that exist, ordered by id.
+     */
+    @PostMapping("/products/batch")
+    public List<Product> getProductsByIds(@RequestBody List<Integer> ids) {
+        logger.info("Handling POST /products/batch for {} ids", ids.size());
+        if (ids.size() > maxBatchIds) {
+            throw new InvalidRequestException("At most " + maxBatchIds + " ids can be requested at once");
+        }
+        return repository.findByIds(ids);
+    }
+
+    /**
+     * Per-category aggregates computed by the database instead of the client.
+     */
+    @GetMapping("/products/stats/by-category")
+    public List<CategoryStats> getCategoryStats() {
+        logger.info("Handling GET /products/stats/by-category");
+        return repository.findCategoryStats();
+    }
+
+    /**
+     * Filtered product search. {@code sort} names a numeric field, prefixed
+     * with {@code -} for descending order, and needs a {@code limit};
+     * {@code fields} restricts the returned properties.
+     */
+    @GetMapping("/products/search")
+    public List<?> searchProducts(
+            @RequestParam(name = "minPrice", required = false) Double minPrice,
+            @RequestParam(name = "maxPrice", required = false) Double maxPrice,
+            @RequestParam(name = "minStock", required = false) Integer minStock,
+            @RequestParam(name = "maxStock", required = false) Integer maxStock,
+            @RequestParam(name = "category", required = false) List<String> categories,
+            @RequestParam(name = "namePrefix", required = false) String namePrefix,
+            @RequestParam(name = "sort", required = false) String sort,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "fields", required = false) List<String> fields) {
+        logger.info("Handling GET /products/search");
+        if (limit != null && limit > maxPageSize) {
+            throw new InvalidRequestException("limit must be between 1 and " + maxPageSize);
+        }
+        ProductFilter filter;
+        try {
+            ProductFilter.Builder builder = ProductFilter.builder()
+                    .minPrice(minPrice)
+                    .maxPrice(maxPrice)
+                    .minStock(minStock)
+                    .maxStock(maxStock)
+                    .categories(categories)
+                    .namePrefix(namePrefix)
+                    .limit(limit);
+            if (sort != null && !sort.isEmpty()) {
+                boolean descending = sort.startsWith("-");
+                builder.sortBy(ProductColumn.fromProperty(descending ? sort.substring(1) : sort), descending);
+            }
+            if (fields != null && !fields.isEmpty()) {
+                builder.columns(fields.stream().map(ProductColumn::fromProperty).toList());
+            }
+            filter = builder.build();
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException(e.getMessage(), e);
+        }
+        return filter.isProjection() ? repository.searchProjected(filter) : repository.search(filter);
+    }
+
+    /**
+     * Keyset-paginated variant of {@code GET /products}, selected when a
+     * {@code limit} is given. Pass the returned {@code nextCursor} as
+     * {@code after} to fetch the following page.
+     */
+    @GetMapping(value = "/products", params = "limit")
+    public ProductPage getProductPage(
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "limit") int limit) {
+        logger.info("Handling GET /products page after: {}, limit: {}", after, limit);
+        if (limit < 1 || limit > maxPageSize) {
+            throw new InvalidRequestException("limit must be between 1 and " + maxPageSize);
+        }
+        if (after != null) {
+            try {
+                ProductCursor.decode(after);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidRequestException(e.getMessage(), e);
+            }
+        }
+        return repository.findPage(after, limit);
+    }
+
+    /**
+     * Newline-delimited JSON variant of {@code GET /products}. Each row is
+     * serialized as soon as Trino returns it, so memory stays bounded and the
+     * first bytes go out before the scan completes.
+     */
+    @GetMapping(value = "/products", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody streamAllProducts(WebRequest request) {
+        logger.info("Handling GET /products as NDJSON stream");
+        if (isNotModified(request, repository.findTableVersion(), "ndjson")) {
+            return null;
+        }
+        return outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                long[] rows = {0};
+                long written = repository.streamAll(product -> {
+                    try {
+                        productWriter.writeValue(generator, product);
+                        generator.writeRaw('\n');
+                        // Flush the first row immediately for time-to-first-byte,
+                        // then in fixed intervals to keep the buffer bounded.
+                        if (++rows[0] == 1 || rows[0] % NDJSON_FLUSH_INTERVAL == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                logger.debug("Streamed {} products as NDJSON.", written);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
+    /**
+     * Apache Arrow IPC stream variant of {@code GET /products} for analytics
+     * clients. Rows are encoded into columnar record batches as Trino returns
+     * them, with {@code category} dictionary-encoded. Not available in a
+     * native image, where Arrow's memory access does not work.
+     */
+    @GetMapping(value = "/products", produces = ProductArrowWriter.MEDIA_TYPE)
+    public StreamingResponseBody streamAllProductsAsArrow(WebRequest request) throws HttpMediaTypeNotAcceptableException {
+        logger.info("Handling GET /products as Arrow stream");
+        if (NativeDetector.inNativeImage()) {
+            throw new HttpMediaTypeNotAcceptableException(List.of(MediaType.APPLICATION_JSON,
+                    MediaType.APPLICATION_NDJSON));
+        }
+        // Created on first use; fails this request only if Arrow cannot run in this JVM.
+        BufferAllocator rootAllocator = arrowAllocator.getObject();
+        if (isNotModified(request, repository.findTableVersion(), "arrow")) {
+            return null;
+        }
+        return outputStream -> {
+            try (BufferAllocator allocator = rootAllocator.newChildAllocator("products-arrow", 0, Long.MAX_VALUE);
+                 ProductArrowWriter writer = new ProductArrowWriter(allocator, outputStream, arrowBatchSize)) {
+                writer.start();
+                repository.streamAll(product -> {
+                    try {
+                        writer.write(product);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                long written = writer.finish();
+                logger.debug("Streamed {} products as Arrow.", written);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
+    /**
+     * Sets the validators of {@code version} on the response and checks the
+     * request's preconditions against them. The ETag is weak and names the
+     * representation, so caches never mix up the JSON, NDJSON and Arrow
+     * bodies of the same data.
+     *
+     * @return whether the client's copy is current and a 304 has been prepared
+     */
+    private static boolean isNotModified(WebRequest request, Optional<ProductDataVersion> version, String representation) {
+        if (version.isEmpty()) {
+            return false;
+        }
+        String etag = "W/\"" + version.get().getTag() + "-" + representation + "\"";
+        boolean notModified = request.checkNotModified(etag, version.get().getLastModified().toEpochMilli());
+        if (notModified) {
+            logger.debug("Products not modified since version {}.", etag);
+        }
+        return notModified;
+    }
+
+    @ExceptionHandler(InvalidRequestException.class)
+    public ProblemDetail handleBadRequest(InvalidRequestException e) {
+        logger.debug("Rejecting request: {}", e.getMessage());
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
+    @ExceptionHandler(TimeoutException.class)
+    public ProblemDetail handleTimeout(TimeoutException e) {
+        logger.warn("Trino query did not complete before its deadline");
+        return ProblemDetail.forStatusAndDetail(HttpStatus.GATEWAY_TIMEOUT, "Trino query timed out");
+    }
+
+    @ExceptionHandler(TaskRejectedException.class)
+    public ProblemDetail handleRejected(TaskRejectedException e) {
+        logger.warn("Rejecting request, repository executor is saturated: {}", e.getMessage());
+        return ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, "Too many concurrent Trino queries");
+    }
 }
@@ -0,0 +1,55 @@
+package com.example.controller;
+
+import java.io.IOException;
+
+import org.springframework.boot.jackson.JsonComponent;
+
+import com.example.model.Product;
+import com.example.repository.ProductColumn;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Writes {@link Product} straight to the generator instead of going through
+ * Jackson's bean serializer, which looks up and invokes a property writer
+ * per field. Field names are encoded once and copied as raw bytes.
+ * <p>
+ * The output is identical to the default serialization: the same fields in
+ * declaration order, with {@code null} strings written as {@code null}. A
+ * new field on {@code Product} has to be added here as well. Registered with
+ * Spring Boot's {@code ObjectMapper}, so it serves the JSON list, page and
+ * NDJSON responses alike.
+ */
+@JsonComponent
+public class ProductJsonSerializer extends StdSerializer<Product> {
+
+    private static final SerializableString ID = new SerializedString(ProductColumn.ID.property());
+    private static final SerializableString NAME = new SerializedString(ProductColumn.NAME.property());
+    private static final SerializableString CATEGORY = new SerializedString(ProductColumn.CATEGORY.property());
+    private static final SerializableString PRICE = new SerializedString(ProductColumn.PRICE.property());
+    private static final SerializableString STOCK_QUANTITY =
+            new SerializedString(ProductColumn.STOCK_QUANTITY.property());
+
+    public ProductJsonSerializer() {
+        super(Product.class);
+    }
+
+    @Override
+    public void serialize(Product product, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(product);
+        generator.writeFieldName(ID);
+        generator.writeNumber(product.getId());
+        generator.writeFieldName(NAME);
+        generator.writeString(product.getName());
+        generator.writeFieldName(CATEGORY);
+        generator.writeString(product.getCategory());
+        generator.writeFieldName(PRICE);
+        generator.writeNumber(product.getPrice());
+        generator.writeFieldName(STOCK_QUANTITY);
+        generator.writeNumber(product.getStockQuantity());
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.model;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide dictionary that maps category names to small, dense ids.
+ * <p>
+ * {@link Product} stores the id instead of a reference to its own copy of the
+ * name, so rows of the same category held by caches and snapshots share one
+ * {@code String}, and code that filters or groups by category can compare
+ * and index by {@code int}. Ids are assigned on first sight and never
+ * reused; lookups are lock-free, only new entries are added under a lock.
+ * <p>
+ * The dictionary stops growing at a fixed size, so an unexpectedly large
+ * number of distinct categories cannot pin unbounded memory; names beyond
+ * it are kept unencoded by the product.
+ */
+public final class CategoryDictionary {
+
+    /** Id of a {@code null} category, and of one that is not in the dictionary. */
+    public static final int NONE = -1;
+
+    static final int DEFAULT_MAX_SIZE = 1 << 16;
+
+    private static final CategoryDictionary SHARED = new CategoryDictionary(DEFAULT_MAX_SIZE);
+
+    private final int maxSize;
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    /** Names by id. Replaced on growth; entries are published by the volatile write. */
+    private volatile String[] names = new String[16];
+    /** Guarded by {@code this}. */
+    private int size;
+
+    CategoryDictionary(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return the dictionary used by {@link Product}
+     */
+    public static CategoryDictionary shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the id of {@code category}, adding it if it is new.
+     *
+     * @return the id, or {@link #NONE} for {@code null} or if the dictionary is full
+     */
+    public int encode(String category) {
+        if (category == null) {
+            return NONE;
+        }
+        Integer id = ids.get(category);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            id = ids.get(category);
+            if (id != null) {
+                return id;
+            }
+            if (size == maxSize) {
+                return NONE;
+            }
+            String[] current = names;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, Math.min(current.length * 2, maxSize));
+            }
+            current[size] = category;
+            names = current;
+            // Added to the map last: whoever finds the id also sees the name.
+            ids.put(category, size);
+            return size++;
+        }
+    }
+
+    /**
+     * Returns the id of {@code category} without adding it.
+     *
+     * @return the id, or {@link #NONE} if {@code category} is {@code null} or unknown
+     */
+    public int lookup(String category) {
+        if (category == null) {
+            return NONE;
+        }
+        Integer id = ids.get(category);
+        return id == null ? NONE : id;
+    }
+
+    /**
+     * @return the name for {@code id}, or {@code null} for {@link #NONE}
+     * @throws IllegalArgumentException if {@code id} was not issued by this dictionary
+     */
+    public String decode(int id) {
+        if (id == NONE) {
+            return null;
+        }
+        String[] current = names;
+        if (id < 0 || id >= current.length || current[id] == null) {
+            throw new IllegalArgumentException("Unknown category id: " + id);
+        }
+        return current[id];
+    }
+
+    /**
+     * @return the number of categories in the dictionary
+     */
+    public int size() {
+        return ids.size();
+    }
+}
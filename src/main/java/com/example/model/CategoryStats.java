@@ -0,0 +1,56 @@
+package com.example.model;
+
+/**
+ * Aggregated figures for all products of one category.
+ * <p>
+ * {@code category} is {@code null} for products without a category.
+ * {@code inventoryValue} is the sum of {@code price * stockQuantity}.
+ */
+public class CategoryStats {
+    private final String category;
+    private final long productCount;
+    private final long totalStock;
+    private final double minPrice;
+    private final double avgPrice;
+    private final double maxPrice;
+    private final double inventoryValue;
+
+    public CategoryStats(String category, long productCount, long totalStock,
+                         double minPrice, double avgPrice, double maxPrice, double inventoryValue) {
+        this.category = category;
+        this.productCount = productCount;
+        this.totalStock = totalStock;
+        this.minPrice = minPrice;
+        this.avgPrice = avgPrice;
+        this.maxPrice = maxPrice;
+        this.inventoryValue = inventoryValue;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public long getProductCount() {
+        return productCount;
+    }
+
+    public long getTotalStock() {
+        return totalStock;
+    }
+
+    public double getMinPrice() {
+        return minPrice;
+    }
+
+    public double getAvgPrice() {
+        return avgPrice;
+    }
+
+    public double getMaxPrice() {
+        return maxPrice;
+    }
+
+    public double getInventoryValue() {
+        return inventoryValue;
+    }
+}
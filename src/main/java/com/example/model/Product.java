@@ -1,12 +1,23 @@
 package com.example.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
 /**
  * Represents a product from the database.
+ * <p>
+ * The category is held as an id of the shared {@link CategoryDictionary}
+ * rather than as a string of its own, so the many products of a category
+ * share one name instance. The JSON property order is fixed, because it no
+ * longer follows from the field declarations.
  */
+@JsonPropertyOrder({"id", "name", "category", "price", "stockQuantity"})
 public class Product {
     private int id;
     private String name;
-    private String category;
+    private int categoryId = CategoryDictionary.NONE;
+    /** Only set when the dictionary was full; rows normally leave it {@code null}. */
+    private String unencodedCategory;
     private double price;
     private int stockQuantity;
 
@@ -27,11 +38,23 @@ public class Product {
     }
 
     public String getCategory() {
-        return category;
+        return categoryId == CategoryDictionary.NONE
+                ? unencodedCategory : CategoryDictionary.shared().decode(categoryId);
     }
 
     public void setCategory(String category) {
-        this.category = category;
+        this.categoryId = CategoryDictionary.shared().encode(category);
+        this.unencodedCategory = categoryId == CategoryDictionary.NONE ? category : null;
+    }
+
+    /**
+     * @return the id of the category in {@link CategoryDictionary#shared()}, or
+     *         {@link CategoryDictionary#NONE} if there is no category or it
+     *         did not fit into the dictionary
+     */
+    @JsonIgnore
+    public int getCategoryId() {
+        return categoryId;
     }
 
     public double getPrice() {
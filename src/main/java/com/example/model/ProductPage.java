@@ -0,0 +1,27 @@
+package com.example.model;
+
+import java.util.List;
+
+/**
+ * One page of products from a keyset-paginated scan.
+ * <p>
+ * {@code nextCursor} is an opaque continuation token to pass back as
+ * {@code after}; it is {@code null} on the last page.
+ */
+public class ProductPage {
+    private final List<Product> items;
+    private final String nextCursor;
+
+    public ProductPage(List<Product> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Product> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+/**
+ * Immutable Bloom filter over strings.
+ * <p>
+ * {@link #mightContain(String)} never returns {@code false} for a value the
+ * filter was built from, and returns {@code true} for other values with
+ * roughly the false-positive probability it was sized for. The bit positions
+ * are derived from one 64-bit hash by double hashing.
+ */
+final class BloomFilter {
+
+    private final long[] bits;
+    private final int bitCount;
+    private final int hashCount;
+    private final int valueCount;
+
+    private BloomFilter(int bitCount, int hashCount, int valueCount) {
+        this.bits = new long[(bitCount + 63) >>> 6];
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+        this.valueCount = valueCount;
+    }
+
+    /**
+     * Builds a filter holding {@code values}, sized so that the expected
+     * false-positive probability is about {@code falsePositiveRate}.
+     */
+    static BloomFilter of(Collection<String> values, double falsePositiveRate) {
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1: " + falsePositiveRate);
+        }
+        int n = Math.max(1, values.size());
+        long optimalBits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int bitCount = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, optimalBits));
+        int hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+
+        BloomFilter filter = new BloomFilter(bitCount, hashCount, values.size());
+        for (String value : values) {
+            filter.add(value);
+        }
+        return filter;
+    }
+
+    boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            int index = bitIndex(h1 + i * h2);
+            if ((bits[index >>> 6] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the false-positive probability implied by the filter's size,
+     *         hash count and number of values
+     */
+    double expectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-(double) hashCount * valueCount / bitCount), hashCount);
+    }
+
+    int bitCount() {
+        return bitCount;
+    }
+
+    int hashCount() {
+        return hashCount;
+    }
+
+    private void add(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            int index = bitIndex(h1 + i * h2);
+            bits[index >>> 6] |= 1L << index;
+        }
+    }
+
+    private int bitIndex(int combinedHash) {
+        return (combinedHash & Integer.MAX_VALUE) % bitCount;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes, finished with the MurmurHash3 mixer
+     * so that both halves are well distributed.
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
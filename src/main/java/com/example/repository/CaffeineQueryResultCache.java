@@ -0,0 +1,160 @@
+package com.example.repository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.example.model.CategoryDictionary;
+import com.example.model.Product;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * {@link QueryResultCache} backed by Caffeine.
+ * <p>
+ * Entries expire after the TTL configured for their query name and are
+ * bounded by an estimate of their heap footprint; Caffeine's W-TinyLFU policy
+ * picks the victims. Once an entry is older than {@code refresh-after} it is
+ * still served while a background reload replaces it, so hot queries only
+ * block on Trino when they have not been read for a full TTL.
+ */
+@Component
+public class CaffeineQueryResultCache implements QueryResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CaffeineQueryResultCache.class);
+
+    static final String CACHE_NAME = "trino.query.results";
+
+    private final QueryCacheProperties properties;
+    private final Function<SqlQuery<?>, List<?>> loader;
+    private final LoadingCache<SqlQuery<?>, List<?>> cache;
+    private final ExecutorService refreshExecutor;
+
+    @Autowired
+    public CaffeineQueryResultCache(
+            QueryCacheProperties properties,
+            QueryExecutor executor,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this(properties, executor::list, Ticker.systemTicker(), null);
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME));
+        logger.info("Query result cache {} (default TTL: {}, per-query TTL: {}, refresh after: {}, max size: {})",
+                properties.isEnabled() ? "enabled" : "disabled", properties.getDefaultTtl(),
+                properties.getTtl(), properties.getRefreshAfter(), properties.getMaximumSize());
+    }
+
+    /**
+     * @param refreshExecutor executor for background reloads, or {@code null} for a dedicated pool
+     */
+    CaffeineQueryResultCache(
+            QueryCacheProperties properties,
+            Function<SqlQuery<?>, List<?>> loader,
+            Ticker ticker,
+            Executor refreshExecutor) {
+        this.properties = properties;
+        this.loader = loader;
+        this.refreshExecutor = refreshExecutor == null ? newRefreshExecutor() : null;
+
+        Caffeine<SqlQuery<?>, List<?>> builder = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumSize().toBytes())
+                .weigher((SqlQuery<?> key, List<?> rows) -> estimateWeight(rows))
+                .expireAfter(new TtlPerQuery())
+                .executor(refreshExecutor == null ? this.refreshExecutor : refreshExecutor)
+                .ticker(ticker)
+                .recordStats();
+        Duration refreshAfter = properties.getRefreshAfter();
+        if (refreshAfter != null && refreshAfter.compareTo(Duration.ZERO) > 0) {
+            builder.refreshAfterWrite(refreshAfter);
+        }
+        this.cache = builder.build(loader::apply);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> List<T> get(SqlQuery<T> query) {
+        if (!isCacheable(query)) {
+            return (List<T>) loader.apply(query);
+        }
+        return (List<T>) cache.get(query);
+    }
+
+    @Override
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private boolean isCacheable(SqlQuery<?> query) {
+        return properties.isEnabled() && properties.ttlFor(query.getName()).compareTo(Duration.ZERO) > 0;
+    }
+
+    @PreDestroy
+    public void close() {
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Rough retained-heap estimate of a cached result, used as its weight in bytes.
+     */
+    static int estimateWeight(List<?> rows) {
+        long bytes = 64 + 8L * rows.size();
+        for (Object row : rows) {
+            bytes += row instanceof Product product ? estimateWeight(product) : 64;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+
+    private static long estimateWeight(Product product) {
+        // Encoded categories are shared by every product of the category; only
+        // an unencoded one is the product's own string.
+        long category = product.getCategoryId() == CategoryDictionary.NONE ? estimateWeight(product.getCategory()) : 0;
+        return 40 + estimateWeight(product.getName()) + category;
+    }
+
+    private static long estimateWeight(String value) {
+        return value == null ? 0 : 40 + value.length();
+    }
+
+    private static ExecutorService newRefreshExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "query-cache-refresh-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private final class TtlPerQuery implements Expiry<SqlQuery<?>, List<?>> {
+
+        @Override
+        public long expireAfterCreate(SqlQuery<?> key, List<?> rows, long currentTime) {
+            return properties.ttlFor(key.getName()).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(SqlQuery<?> key, List<?> rows, long currentTime, long currentDuration) {
+            return properties.ttlFor(key.getName()).toNanos();
+        }
+
+        @Override
+        public long expireAfterRead(SqlQuery<?> key, List<?> rows, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
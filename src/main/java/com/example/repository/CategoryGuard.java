@@ -0,0 +1,212 @@
+package com.example.repository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Answers "does this category possibly exist?" without a Trino round trip.
+ * <p>
+ * The set of known categories is rebuilt periodically. Small sets are kept
+ * exactly; large ones in a {@link BloomFilter}, which may let a missing
+ * category through but never rejects one that existed at the last rebuild.
+ * Until the first rebuild, when disabled, or after a failed first rebuild,
+ * every category is let through. The same holds once rebuilds have kept
+ * failing for longer than {@code max-staleness}: a guard that old would
+ * reject every category added since.
+ */
+@Component
+public class CategoryGuard {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryGuard.class);
+
+    static final String DISTINCT_CATEGORIES_SQL =
+            "SELECT DISTINCT category FROM " + ProductRepository.PRODUCTS_TABLE + " WHERE category IS NOT NULL";
+
+    private final CategoryGuardProperties properties;
+    private final Supplier<List<String>> loader;
+    private final Clock clock;
+    private final Timer rebuildTimer;
+    private final Counter shortCircuits;
+    private final Counter falsePositives;
+    private volatile Predicate<String> knownCategories;
+    private volatile Instant builtAt;
+    private volatile double expectedFalsePositiveRate;
+    private volatile int categoryCount;
+    private ScheduledExecutorService scheduler;
+
+    @Autowired
+    public CategoryGuard(
+            CategoryGuardProperties properties,
+            QueryExecutor executor,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this(properties,
+                () -> executor.list(new SqlQuery<>("loadCategories", QueryKind.AGGREGATE,
+                        DISTINCT_CATEGORIES_SQL, (rs, rowNum) -> rs.getString(1))),
+                Clock.systemUTC(),
+                meterRegistry.getIfAvailable());
+        logger.info("Category guard {} (refresh interval: {}, max staleness: {}, exact set limit: {}, target FPP: {})",
+                properties.isEnabled() ? "enabled" : "disabled", properties.getRefreshInterval(),
+                properties.getMaxStaleness(),
+                properties.getExactSetLimit(), properties.getFalsePositiveRate());
+    }
+
+    /**
+     * @param meterRegistry registry for guard metrics, or {@code null}
+     */
+    CategoryGuard(CategoryGuardProperties properties, Supplier<List<String>> loader, Clock clock,
+                  MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.loader = loader;
+        this.clock = clock;
+        if (meterRegistry == null) {
+            this.rebuildTimer = null;
+            this.shortCircuits = null;
+            this.falsePositives = null;
+            return;
+        }
+        this.rebuildTimer = Timer.builder("products.category.guard.rebuild")
+                .description("Time to load the known categories and rebuild the guard")
+                .register(meterRegistry);
+        this.shortCircuits = Counter.builder("products.category.guard.short.circuits")
+                .description("Category lookups answered empty without querying Trino")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("products.category.guard.false.positives")
+                .description("Category lookups let through by the guard that found no products")
+                .register(meterRegistry);
+        Gauge.builder("products.category.guard.expected.fpp", this, guard -> guard.expectedFalsePositiveRate)
+                .description("False-positive probability implied by the current Bloom filter; 0 for an exact set")
+                .register(meterRegistry);
+        Gauge.builder("products.category.guard.categories", this, guard -> guard.categoryCount)
+                .description("Categories known to the guard")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return {@code false} only if {@code category} certainly has no products
+     *         as of the last rebuild, and that rebuild is recent enough
+     */
+    public boolean mightExist(String category) {
+        Predicate<String> known = currentGuard();
+        if (known == null) {
+            return true;
+        }
+        if (category != null && known.test(category)) {
+            return true;
+        }
+        if (shortCircuits != null) {
+            shortCircuits.increment();
+        }
+        return false;
+    }
+
+    /**
+     * Records that a category let through by {@link #mightExist(String)} had
+     * no products, which is a false positive of the guard (or a category
+     * removed since the last rebuild).
+     */
+    public void recordMiss(String category) {
+        if (currentGuard() != null) {
+            logger.debug("Category '{}' passed the guard but has no products.", category);
+            if (falsePositives != null) {
+                falsePositives.increment();
+            }
+        }
+    }
+
+    /**
+     * @return the guard to apply, or {@code null} if disabled, not built yet or
+     *         older than the staleness bound
+     */
+    private Predicate<String> currentGuard() {
+        Predicate<String> known = knownCategories;
+        if (!properties.isEnabled() || known == null) {
+            return null;
+        }
+        Duration age = Duration.between(builtAt, clock.instant());
+        if (age.compareTo(properties.getMaxStaleness()) > 0) {
+            logger.debug("Category guard is {} old, letting every category through.", age);
+            return null;
+        }
+        return known;
+    }
+
+    /**
+     * Loads the distinct categories and replaces the guard. On failure the
+     * previous guard stays in place until it exceeds {@code max-staleness}.
+     *
+     * @return whether a new guard was installed
+     */
+    public boolean rebuild() {
+        Instant loadedAt = clock.instant();
+        long start = System.nanoTime();
+        try {
+            List<String> categories = loader.get();
+            Predicate<String> known;
+            if (categories.size() <= properties.getExactSetLimit()) {
+                known = Set.copyOf(categories)::contains;
+                expectedFalsePositiveRate = 0;
+            } else {
+                BloomFilter filter = BloomFilter.of(categories, properties.getFalsePositiveRate());
+                known = filter::mightContain;
+                expectedFalsePositiveRate = filter.expectedFalsePositiveRate();
+            }
+            // Timestamp first, so a reader that sees the new guard never pairs it with an older time.
+            builtAt = loadedAt;
+            knownCategories = known;
+            categoryCount = categories.size();
+            long elapsed = System.nanoTime() - start;
+            if (rebuildTimer != null) {
+                rebuildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            }
+            logger.info("Rebuilt category guard with {} categories in {} ms (expected FPP: {}).",
+                    categories.size(), TimeUnit.NANOSECONDS.toMillis(elapsed), expectedFalsePositiveRate);
+            return true;
+        } catch (RuntimeException e) {
+            logger.warn("Failed to rebuild category guard, keeping the previous one. Error: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!properties.isEnabled() || scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "category-guard-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::rebuild, 0,
+                properties.getRefreshInterval().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
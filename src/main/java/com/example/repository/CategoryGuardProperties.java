@@ -0,0 +1,75 @@
+package com.example.repository;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the known-category guard, bound from {@code app.products.category-guard.*}.
+ */
+@ConfigurationProperties(prefix = "app.products.category-guard")
+public class CategoryGuardProperties {
+
+    /** Whether lookups for categories that do not exist are answered without querying Trino. */
+    private boolean enabled = false;
+
+    /**
+     * Delay between the end of one rebuild and the start of the next. A
+     * category added in between is not found until the next rebuild.
+     */
+    private Duration refreshInterval = Duration.ofMinutes(5);
+
+    /**
+     * Oldest guard that may still reject categories. Once the last successful
+     * rebuild is older than this, for example because Trino is unreachable,
+     * every category is let through until a rebuild succeeds, so categories
+     * added in the meantime are not reported as empty indefinitely.
+     */
+    private Duration maxStaleness = Duration.ofMinutes(15);
+
+    /** Up to this many categories are kept as an exact set; above it a Bloom filter is used. */
+    private int exactSetLimit = 10_000;
+
+    /** Target false-positive probability of the Bloom filter. */
+    private double falsePositiveRate = 0.01;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    public Duration getMaxStaleness() {
+        return maxStaleness;
+    }
+
+    public void setMaxStaleness(Duration maxStaleness) {
+        this.maxStaleness = maxStaleness;
+    }
+
+    public int getExactSetLimit() {
+        return exactSetLimit;
+    }
+
+    public void setExactSetLimit(int exactSetLimit) {
+        this.exactSetLimit = exactSetLimit;
+    }
+
+    public double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    public void setFalsePositiveRate(double falsePositiveRate) {
+        this.falsePositiveRate = falsePositiveRate;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs {@link SqlQuery} instances directly against PostgreSQL through the
+ * application's {@code DataSource}, skipping Trino.
+ * <p>
+ * Repository SQL refers to the unqualified {@code products} table, which
+ * resolves to the same table here and through Trino's default catalog and
+ * schema. Queries using Trino-only syntax must be {@link QueryKind#FEDERATED}
+ * so that they are never routed here.
+ */
+@Component
+public class PostgresQueryExecutor implements QueryExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgresQueryExecutor.class);
+
+    private final DataSource dataSource;
+    private final int fetchSize;
+
+    public PostgresQueryExecutor(
+            DataSource dataSource,
+            @Value("${app.products.routing.postgres-fetch-size:1000}") int fetchSize) {
+        this.dataSource = dataSource;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public <T> List<T> list(SqlQuery<T> query) {
+        List<T> result = new ArrayList<>();
+        stream(query, result::add);
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Runs the query in a read-only transaction so that the driver fetches
+     * rows in batches of {@code fetchSize} through a cursor instead of
+     * materializing the whole result first.
+     */
+    @Override
+    public <T> long stream(SqlQuery<T> query, Consumer<? super T> sink) {
+        logger.debug("Executing PostgreSQL query '{}': {} with parameters: {}",
+                query.getName(), query.getSql(), query.getParameters());
+
+        RowMapper<T> rowMapper = query.getRowMapper();
+        long count = 0;
+        try (Connection conn = dataSource.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(query.getSql())) {
+                pstmt.setFetchSize(fetchSize);
+                List<Object> parameters = query.getParameters();
+                for (int i = 0; i < parameters.size(); i++) {
+                    pstmt.setObject(i + 1, parameters.get(i));
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        sink.accept(rowMapper.mapRow(rs, (int) count));
+                        count++;
+                    }
+                }
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+            logger.debug("Query '{}' returned {} rows.", query.getName(), count);
+        } catch (SQLException e) {
+            logger.error("Failed to execute PostgreSQL query '{}'. Error: {}", query.getName(), e.getMessage(), e);
+            throw new RuntimeException("PostgreSQL query '" + query.getName() + "' failed: " + e.getMessage(), e);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,267 @@
+package com.example.repository;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.model.Product;
+
+/**
+ * Writes large numbers of products straight into PostgreSQL, bypassing Trino.
+ * <p>
+ * Rows are streamed with {@code COPY ... FROM STDIN} when the connection is a
+ * PostgreSQL one, and inserted with batched prepared statements otherwise (or
+ * when {@code app.products.bulk-load.method=batch}). Each partition is loaded
+ * on its own connection and in its own transaction; partitions run in
+ * parallel on up to {@code app.products.bulk-load.parallelism} threads.
+ */
+@Component
+public class ProductBulkLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductBulkLoader.class);
+
+    static final String COPY_SQL =
+            "COPY products (" + ProductRowMapper.COLUMNS + ") FROM STDIN WITH (FORMAT csv)";
+
+    static final String INSERT_SQL =
+            "INSERT INTO products (" + ProductRowMapper.COLUMNS + ") VALUES (?, ?, ?, ?, ?)";
+
+    /** Bytes of CSV buffered before they are handed to the COPY stream. */
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final DataSource dataSource;
+    private final boolean copyEnabled;
+    private final int batchSize;
+    private final int parallelism;
+
+    public ProductBulkLoader(
+            DataSource dataSource,
+            @Value("${app.products.bulk-load.method:copy}") String method,
+            @Value("${app.products.bulk-load.batch-size:5000}") int batchSize,
+            @Value("${app.products.bulk-load.parallelism:4}") int parallelism) {
+        this.dataSource = dataSource;
+        this.copyEnabled = !"batch".equalsIgnoreCase(method);
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Loads {@code products} in a single partition.
+     */
+    public LoadReport load(Iterable<Product> products) {
+        return loadPartitions(List.of(products));
+    }
+
+    /**
+     * Loads every partition, in parallel, each on its own connection. A failed
+     * partition rolls back only its own rows; the first failure is rethrown
+     * once all partitions have finished.
+     */
+    public LoadReport loadPartitions(List<? extends Iterable<Product>> partitions) {
+        long start = System.nanoTime();
+        int threads = Math.max(1, Math.min(parallelism, partitions.size()));
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "product-bulk-load-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long rows = 0;
+        RuntimeException failure = null;
+        try {
+            List<Future<Long>> results = new ArrayList<>(partitions.size());
+            for (Iterable<Product> partition : partitions) {
+                results.add(pool.submit(() -> loadPartition(partition)));
+            }
+            for (Future<Long> result : results) {
+                try {
+                    rows += result.get();
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause() instanceof RuntimeException cause
+                                ? cause : new RuntimeException("Bulk load failed", e.getCause());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted while waiting for bulk load", e);
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+
+        LoadReport report = new LoadReport(rows, partitions.size(), copyEnabled ? "copy" : "batch",
+                Duration.ofNanos(System.nanoTime() - start));
+        logger.info("Bulk loaded {} products in {} partition(s) via {} in {} ms ({} rows/s).",
+                report.getRows(), report.getPartitions(), report.getMethod(), report.getElapsed().toMillis(),
+                String.format(Locale.ROOT, "%.0f", report.getRowsPerSecond()));
+        return report;
+    }
+
+    private long loadPartition(Iterable<Product> products) {
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                boolean useCopy = copyEnabled && conn.isWrapperFor(PGConnection.class);
+                if (copyEnabled && !useCopy) {
+                    logger.debug("Connection does not support COPY, falling back to batched inserts.");
+                }
+                long rows = useCopy ? copy(conn.unwrap(PGConnection.class), products) : insertBatched(conn, products);
+                conn.commit();
+                return rows;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Bulk load of products failed: " + e.getMessage(), e);
+        }
+    }
+
+    private long copy(PGConnection conn, Iterable<Product> products) throws SQLException {
+        CopyIn copyIn = conn.getCopyAPI().copyIn(COPY_SQL);
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(COPY_BUFFER_SIZE + 1024);
+            StringBuilder line = new StringBuilder(128);
+            for (Product product : products) {
+                line.setLength(0);
+                appendCsv(line, product);
+                byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+                buffer.write(bytes, 0, bytes.length);
+                if (buffer.size() >= COPY_BUFFER_SIZE) {
+                    copyIn.writeToCopy(buffer.toByteArray(), 0, buffer.size());
+                    buffer.reset();
+                }
+            }
+            if (buffer.size() > 0) {
+                copyIn.writeToCopy(buffer.toByteArray(), 0, buffer.size());
+            }
+            return copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private long insertBatched(Connection conn, Iterable<Product> products) throws SQLException {
+        long rows = 0;
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL)) {
+            int pending = 0;
+            for (Product product : products) {
+                stmt.setInt(1, product.getId());
+                stmt.setString(2, product.getName());
+                if (product.getCategory() == null) {
+                    stmt.setNull(3, Types.VARCHAR);
+                } else {
+                    stmt.setString(3, product.getCategory());
+                }
+                stmt.setDouble(4, product.getPrice());
+                stmt.setInt(5, product.getStockQuantity());
+                stmt.addBatch();
+                if (++pending == batchSize) {
+                    stmt.executeBatch();
+                    rows += pending;
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                stmt.executeBatch();
+                rows += pending;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Appends one CSV record. Text is always quoted so that an empty string
+     * stays distinct from NULL, which COPY reads as an unquoted empty field.
+     */
+    static void appendCsv(StringBuilder line, Product product) {
+        line.append(product.getId()).append(',');
+        appendQuoted(line, product.getName());
+        line.append(',');
+        appendQuoted(line, product.getCategory());
+        line.append(',').append(product.getPrice())
+                .append(',').append(product.getStockQuantity())
+                .append('\n');
+    }
+
+    private static void appendQuoted(StringBuilder line, String value) {
+        if (value == null) {
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    /**
+     * Outcome of one {@link #load} or {@link #loadPartitions} call.
+     */
+    public static final class LoadReport {
+        private final long rows;
+        private final int partitions;
+        private final String method;
+        private final Duration elapsed;
+
+        LoadReport(long rows, int partitions, String method, Duration elapsed) {
+            this.rows = rows;
+            this.partitions = partitions;
+            this.method = method;
+            this.elapsed = elapsed;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public int getPartitions() {
+            return partitions;
+        }
+
+        /** Configured load method, {@code copy} or {@code batch}. */
+        public String getMethod() {
+            return method;
+        }
+
+        public Duration getElapsed() {
+            return elapsed;
+        }
+
+        public double getRowsPerSecond() {
+            long nanos = Math.max(1, elapsed.toNanos());
+            return rows * 1_000_000_000.0 / nanos;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Columns of {@code products} that can be projected, filtered or sorted on.
+ */
+public enum ProductColumn {
+
+    ID("id", "id", true),
+    NAME("name", "name", false),
+    CATEGORY("category", "category", false),
+    PRICE("price", "price", true),
+    STOCK_QUANTITY("stock_quantity", "stockQuantity", true);
+
+    private final String column;
+    private final String property;
+    private final boolean sortable;
+
+    /**
+     * @param sortable whether ordering by this column can be pushed down to
+     *                 PostgreSQL; Trino keeps varchar ordering to itself because
+     *                 collations may differ
+     */
+    ProductColumn(String column, String property, boolean sortable) {
+        this.column = column;
+        this.property = property;
+        this.sortable = sortable;
+    }
+
+    /** Column name in SQL. */
+    public String column() {
+        return column;
+    }
+
+    /** Property name of the column in {@link com.example.model.Product} and in JSON. */
+    public String property() {
+        return property;
+    }
+
+    public boolean isSortable() {
+        return sortable;
+    }
+
+    Object read(ResultSet rs, int index) throws SQLException {
+        Object value = switch (this) {
+            case ID, STOCK_QUANTITY -> rs.getInt(index);
+            case NAME, CATEGORY -> rs.getString(index);
+            case PRICE -> rs.getDouble(index);
+        };
+        return rs.wasNull() ? null : value;
+    }
+
+    /**
+     * @throws IllegalArgumentException if no column has the given property name
+     */
+    public static ProductColumn fromProperty(String property) {
+        for (ProductColumn candidate : values()) {
+            if (candidate.property.equals(property)) {
+                return candidate;
+            }
+        }
+        throw new IllegalArgumentException("Unknown product field: " + property);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.repository;
+
+import java.time.Instant;
+
+/**
+ * Identifies the state of the product data behind a response, for
+ * {@code ETag} and {@code Last-Modified} headers.
+ */
+public final class ProductDataVersion {
+
+    private final String tag;
+    private final Instant lastModified;
+
+    ProductDataVersion(String tag, Instant lastModified) {
+        this.tag = tag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * @return an opaque token that changes whenever the data changes
+     */
+    public String getTag() {
+        return tag;
+    }
+
+    /**
+     * @return when this version was first observed, in whole seconds
+     */
+    public Instant getLastModified() {
+        return lastModified;
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * Typed description of a product search: predicates, ordering, limit and
+ * projection, compiled to parameterized SQL by {@link #toQuery}.
+ * <p>
+ * Only constructs that the PostgreSQL connector pushes down are offered:
+ * numeric ranges, equality/IN on {@code category}, a {@code LIKE} prefix on
+ * {@code name}, ordering by numeric columns combined with a limit (top-N), and
+ * plain column projection. Nothing here makes Trino filter or sort rows itself.
+ */
+public final class ProductFilter {
+
+    private final Double minPrice;
+    private final Double maxPrice;
+    private final Integer minStock;
+    private final Integer maxStock;
+    private final List<String> categories;
+    private final String namePrefix;
+    private final ProductColumn sortBy;
+    private final boolean descending;
+    private final Integer limit;
+    private final List<ProductColumn> columns;
+
+    private ProductFilter(Builder builder) {
+        this.minPrice = builder.minPrice;
+        this.maxPrice = builder.maxPrice;
+        this.minStock = builder.minStock;
+        this.maxStock = builder.maxStock;
+        this.categories = List.copyOf(builder.categories);
+        this.namePrefix = builder.namePrefix;
+        this.sortBy = builder.sortBy;
+        this.descending = builder.descending;
+        this.limit = builder.limit;
+        this.columns = builder.columns.isEmpty() ? List.of() : List.copyOf(builder.columns);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return whether only a subset of columns was requested
+     */
+    public boolean isProjection() {
+        return !columns.isEmpty();
+    }
+
+    /**
+     * @return the projected columns, in select-list order; empty when all columns are selected
+     */
+    public List<ProductColumn> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Compiles this filter to a query against {@code table}. The select list is
+     * {@link ProductRowMapper#COLUMNS} unless a projection was requested, in
+     * which case it is {@link #getColumns()} in order.
+     */
+    public <T> SqlQuery<T> toQuery(String name, String table, RowMapper<T> rowMapper) {
+        String selectList = isProjection()
+                ? columns.stream().map(ProductColumn::column).collect(Collectors.joining(", "))
+                : ProductRowMapper.COLUMNS;
+        StringBuilder sql = new StringBuilder("SELECT ").append(selectList).append(" FROM ").append(table);
+        List<Object> parameters = new ArrayList<>();
+        List<String> predicates = new ArrayList<>();
+        if (minPrice != null) {
+            predicates.add("price >= ?");
+            parameters.add(minPrice);
+        }
+        if (maxPrice != null) {
+            predicates.add("price <= ?");
+            parameters.add(maxPrice);
+        }
+        if (minStock != null) {
+            predicates.add("stock_quantity >= ?");
+            parameters.add(minStock);
+        }
+        if (maxStock != null) {
+            predicates.add("stock_quantity <= ?");
+            parameters.add(maxStock);
+        }
+        if (!categories.isEmpty()) {
+            predicates.add("category IN (" + String.join(", ", Collections.nCopies(categories.size(), "?")) + ")");
+            parameters.addAll(categories);
+        }
+        if (namePrefix != null) {
+            predicates.add("name LIKE ? ESCAPE '\\'");
+            parameters.add(escapeLike(namePrefix) + "%");
+        }
+        if (!predicates.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", predicates));
+        }
+        if (sortBy != null) {
+            sql.append(" ORDER BY ").append(sortBy.column()).append(descending ? " DESC" : " ASC");
+            if (sortBy != ProductColumn.ID) {
+                // Tie-breaker so that equal sort keys come back in a stable order.
+                sql.append(", id");
+            }
+        }
+        if (limit != null) {
+            sql.append(" LIMIT ?");
+            parameters.add(limit.longValue());
+        }
+        QueryKind kind = isPrimaryKeyRange(predicates) ? QueryKind.RANGE : QueryKind.SCAN;
+        return new SqlQuery<>(name, kind, sql.toString(), rowMapper, parameters.toArray());
+    }
+
+    /**
+     * Whether PostgreSQL can answer the search by reading its first
+     * {@code limit} rows in primary key order. Only {@code id} is indexed, so
+     * any predicate, or an order on another column, can mean a full scan and
+     * sort however small the limit is; such searches stay on Trino.
+     */
+    private boolean isPrimaryKeyRange(List<String> predicates) {
+        return limit != null && predicates.isEmpty() && (sortBy == null || sortBy == ProductColumn.ID);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    public static final class Builder {
+        private Double minPrice;
+        private Double maxPrice;
+        private Integer minStock;
+        private Integer maxStock;
+        private final List<String> categories = new ArrayList<>();
+        private String namePrefix;
+        private ProductColumn sortBy;
+        private boolean descending;
+        private Integer limit;
+        private final List<ProductColumn> columns = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public Builder minPrice(Double minPrice) {
+            this.minPrice = minPrice;
+            return this;
+        }
+
+        public Builder maxPrice(Double maxPrice) {
+            this.maxPrice = maxPrice;
+            return this;
+        }
+
+        public Builder minStock(Integer minStock) {
+            this.minStock = minStock;
+            return this;
+        }
+
+        public Builder maxStock(Integer maxStock) {
+            this.maxStock = maxStock;
+            return this;
+        }
+
+        public Builder categories(List<String> categories) {
+            if (categories != null) {
+                this.categories.addAll(categories);
+            }
+            return this;
+        }
+
+        public Builder categories(String... categories) {
+            return categories(Arrays.asList(categories));
+        }
+
+        public Builder namePrefix(String namePrefix) {
+            this.namePrefix = namePrefix;
+            return this;
+        }
+
+        public Builder sortBy(ProductColumn sortBy, boolean descending) {
+            this.sortBy = sortBy;
+            this.descending = descending;
+            return this;
+        }
+
+        public Builder limit(Integer limit) {
+            this.limit = limit;
+            return this;
+        }
+
+        public Builder columns(List<ProductColumn> columns) {
+            if (columns != null) {
+                this.columns.addAll(columns);
+            }
+            return this;
+        }
+
+        public Builder columns(ProductColumn... columns) {
+            return columns(Arrays.asList(columns));
+        }
+
+        /**
+         * @throws IllegalArgumentException if the filter is contradictory or could not be pushed down
+         */
+        public ProductFilter build() {
+            if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+                throw new IllegalArgumentException("minPrice must not exceed maxPrice");
+            }
+            if (minStock != null && maxStock != null && minStock > maxStock) {
+                throw new IllegalArgumentException("minStock must not exceed maxStock");
+            }
+            if (categories.stream().anyMatch(category -> category == null || category.isEmpty())) {
+                throw new IllegalArgumentException("categories must not be empty");
+            }
+            if (namePrefix != null && namePrefix.isEmpty()) {
+                namePrefix = null;
+            }
+            if (sortBy != null && !sortBy.isSortable()) {
+                throw new IllegalArgumentException("Sorting by " + sortBy.property() + " is not supported");
+            }
+            if (sortBy != null && limit == null) {
+                throw new IllegalArgumentException("Sorting requires a limit");
+            }
+            if (limit != null && limit < 1) {
+                throw new IllegalArgumentException("limit must be positive: " + limit);
+            }
+            if (columns.stream().distinct().count() != columns.size()) {
+                throw new IllegalArgumentException("Duplicate fields in projection");
+            }
+            return new ProductFilter(this);
+        }
+    }
+}
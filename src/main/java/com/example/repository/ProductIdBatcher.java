@@ -0,0 +1,169 @@
+package com.example.repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.model.Product;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+import static com.example.config.RepositoryAsyncConfig.REPOSITORY_EXECUTOR;
+
+/**
+ * Merges single-product lookups that arrive close together into one query.
+ * <p>
+ * The first {@link #load(int)} after a flush opens a window of
+ * {@code app.products.batch.window}; every id requested until it closes, or
+ * until {@code app.products.batch.chunk-size} distinct ids are pending, is
+ * fetched with one {@link ProductRepository#findByIds} call on the repository
+ * executor. Lookups of the same id within a window share one future. A zero
+ * window disables batching.
+ */
+@Component
+public class ProductIdBatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductIdBatcher.class);
+
+    private final Function<List<Integer>, List<Product>> loader;
+    private final Executor executor;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService timer;
+    private final DistributionSummary batchSizes;
+
+    private final Object lock = new Object();
+    private Map<Integer, CompletableFuture<Optional<Product>>> pending = new HashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    @Autowired
+    public ProductIdBatcher(
+            ProductRepository repository,
+            @Qualifier(REPOSITORY_EXECUTOR) Executor executor,
+            @Value("${app.products.batch.window:2ms}") Duration window,
+            @Value("${app.products.batch.chunk-size:500}") int maxBatchSize,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this(repository::findByIds, executor, window, maxBatchSize, meterRegistry.getIfAvailable());
+        logger.info("Product id batching {} (window: {}, max batch size: {})",
+                windowNanos > 0 ? "enabled" : "disabled", window, maxBatchSize);
+    }
+
+    /**
+     * @param meterRegistry registry for the batch size distribution, or {@code null}
+     */
+    ProductIdBatcher(
+            Function<List<Integer>, List<Product>> loader,
+            Executor executor,
+            Duration window,
+            int maxBatchSize,
+            MeterRegistry meterRegistry) {
+        this.loader = loader;
+        this.executor = executor;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "product-id-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.batchSizes = meterRegistry == null ? null : DistributionSummary.builder("products.batch.size")
+                .description("Distinct ids fetched per micro-batched lookup")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return a future completed with the product, or empty if there is no product with this id
+     */
+    public CompletableFuture<Optional<Product>> load(int id) {
+        if (windowNanos <= 0) {
+            Map<Integer, CompletableFuture<Optional<Product>>> single = Map.of(id, new CompletableFuture<>());
+            dispatch(single);
+            return single.get(id);
+        }
+        Map<Integer, CompletableFuture<Optional<Product>>> full = null;
+        CompletableFuture<Optional<Product>> result;
+        synchronized (lock) {
+            result = pending.computeIfAbsent(id, key -> new CompletableFuture<>());
+            if (pending.size() >= maxBatchSize) {
+                full = takePending();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = timer.schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return result;
+    }
+
+    private void flush() {
+        Map<Integer, CompletableFuture<Optional<Product>>> batch;
+        synchronized (lock) {
+            batch = takePending();
+        }
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    /** Must hold {@link #lock}. */
+    private Map<Integer, CompletableFuture<Optional<Product>>> takePending() {
+        Map<Integer, CompletableFuture<Optional<Product>>> batch = pending;
+        pending = new HashMap<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(Map<Integer, CompletableFuture<Optional<Product>>> batch) {
+        try {
+            executor.execute(() -> fetch(batch));
+        } catch (RejectedExecutionException e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private void fetch(Map<Integer, CompletableFuture<Optional<Product>>> batch) {
+        if (batchSizes != null) {
+            batchSizes.record(batch.size());
+        }
+        try {
+            Map<Integer, Product> found = new HashMap<>();
+            for (Product product : loader.apply(new ArrayList<>(batch.keySet()))) {
+                found.put(product.getId(), product);
+            }
+            logger.debug("Fetched a batch of {} ids, {} found.", batch.size(), found.size());
+            batch.forEach((id, future) -> future.complete(Optional.ofNullable(found.get(id))));
+        } catch (RuntimeException e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        timer.shutdownNow();
+    }
+}
@@ -1,92 +1,340 @@
 package com.example.repository;
 
+import com.example.model.CategoryStats;
 import com.example.model.Product;
+import com.example.model.ProductPage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
-import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.PreparedStatement; 
-import java.sql.ResultSet;
-import java.sql.Statement;
-import java.sql.SQLException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static com.example.config.RepositoryAsyncConfig.REPOSITORY_EXECUTOR;
 
 @Repository
 public class ProductRepository {
 
     private static final Logger logger = LoggerFactory.getLogger(ProductRepository.class);
 
-    private final String jdbcUrl;
-    private final String user;
-    private final String password;
+    /**
+     * Unqualified, so that it resolves to the same table through Trino's
+     * default catalog and schema and directly in PostgreSQL.
+     */
+    static final String PRODUCTS_TABLE = "products";
+
+    static final String SELECT_PRODUCTS = "SELECT " + ProductRowMapper.COLUMNS + " FROM " + PRODUCTS_TABLE;
+
+    private static final ProductRowMapper PRODUCT_ROW_MAPPER = ProductRowMapper.INSTANCE;
+
+    /**
+     * The PostgreSQL connector does not push down aggregations grouped by a
+     * varchar column (the remote collation may compare text differently), nor
+     * aggregates over expressions such as {@code price * stock_quantity}. Either
+     * would make Trino fetch the whole table and group it itself, so the query
+     * is handed to PostgreSQL verbatim through the connector's {@code query}
+     * table function and only one row per category comes back. The remote
+     * query does not see Trino's session schema, so the table is qualified
+     * with the configured one.
+     */
+    static String categoryStatsSql(String catalog, String schema) {
+        return "SELECT * FROM TABLE(" + catalog + ".system.query(query => '"
+                + "SELECT category, count(*), coalesce(sum(stock_quantity), 0), "
+                + "min(price), avg(price), max(price), coalesce(sum(price * stock_quantity), 0) "
+                + "FROM " + schema + "." + PRODUCTS_TABLE + " GROUP BY category'))";
+    }
+
+    private static final RowMapper<CategoryStats> CATEGORY_STATS_ROW_MAPPER = (rs, rowNum) -> new CategoryStats(
+            rs.getString(1), rs.getLong(2), rs.getLong(3),
+            rs.getDouble(4), rs.getDouble(5), rs.getDouble(6), rs.getDouble(7));
+
+    private final QueryExecutor queryExecutor;
+    private final QueryResultCache resultCache;
+    private final ProductSnapshotStore snapshots;
+    private final CategoryGuard categoryGuard;
+    private final ProductVersionTracker versionTracker;
+    private final Executor asyncExecutor;
+    private final Duration asyncTimeout;
+    private final int idChunkSize;
+    private final String categoryStatsSql;
 
     public ProductRepository(
-            @Value("${app.trino.jdbc.url}") String jdbcUrl,
-            @Value("${app.trino.jdbc.user:test_trino_user}") String user,
-            @Value("${app.trino.jdbc.password:#{null}}") String password) {
-        this.jdbcUrl = jdbcUrl;
-        this.user = user;
-        this.password = password;
-        logger.info("ProductRepository initialized with Trino URL: {}, User: {}", jdbcUrl, user);
+            QueryExecutor queryExecutor,
+            QueryResultCache resultCache,
+            ProductSnapshotStore snapshots,
+            CategoryGuard categoryGuard,
+            ProductVersionTracker versionTracker,
+            @Qualifier(REPOSITORY_EXECUTOR) Executor asyncExecutor,
+            @Value("${app.products.async.timeout:10s}") Duration asyncTimeout,
+            @Value("${app.products.batch.chunk-size:500}") int idChunkSize,
+            @Value("${app.trino.jdbc.catalog:postgresql}") String catalog,
+            @Value("${app.trino.jdbc.schema:public}") String schema) {
+        this.queryExecutor = queryExecutor;
+        this.resultCache = resultCache;
+        this.snapshots = snapshots;
+        this.categoryGuard = categoryGuard;
+        this.versionTracker = versionTracker;
+        this.asyncExecutor = asyncExecutor;
+        this.asyncTimeout = asyncTimeout;
+        this.idChunkSize = idChunkSize;
+        this.categoryStatsSql = categoryStatsSql(catalog, schema);
+        logger.info("ProductRepository initialized with result cache: {}", resultCache.getClass().getSimpleName());
     }
 
     public List<Product> findAll() {
-        List<Product> result = new ArrayList<>();
-        String query = "SELECT id, name, category, price, stock_quantity FROM postgresql.public.products";
-        logger.debug("Executing Trino query: {} on URL: {}", query, jdbcUrl);
-
-        try (Connection conn = DriverManager.getConnection(jdbcUrl, user, password);
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(query)) {
-
-            while (rs.next()) {
-                Product p = new Product();
-                p.setId(rs.getInt("id"));
-                p.setName(rs.getString("name"));
-                p.setCategory(rs.getString("category"));
-                p.setPrice(rs.getDouble("price"));
-                p.setStockQuantity(rs.getInt("stock_quantity"));
-                result.add(p);
+        Optional<ProductSnapshot> snapshot = snapshots.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().findAll();
+        }
+        List<Product> result = resultCache.get(new SqlQuery<>("findAll", SELECT_PRODUCTS, PRODUCT_ROW_MAPPER));
+        logger.debug("Query returned {} products.", result.size());
+        return result;
+    }
+
+    /**
+     * Version of the data {@link #findAll()} currently returns: the table
+     * version the snapshot was loaded from while one is served, the table's
+     * current one otherwise. Empty if it is unknown.
+     */
+    public Optional<ProductDataVersion> findDataVersion() {
+        Optional<ProductSnapshot> snapshot = snapshots.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().getVersion();
+        }
+        return versionTracker.current();
+    }
+
+    /**
+     * Version of the table itself, which {@link #streamAll(Consumer)} reads.
+     */
+    public Optional<ProductDataVersion> findTableVersion() {
+        return versionTracker.current();
+    }
+
+    public Optional<Product> findById(int id) {
+        Optional<ProductSnapshot> snapshot = snapshots.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().findById(id);
+        }
+        List<Product> result = resultCache.get(new SqlQuery<>("findById", QueryKind.POINT,
+                SELECT_PRODUCTS + " WHERE id = ?", PRODUCT_ROW_MAPPER, id));
+        return result.stream().findFirst();
+    }
+
+    /**
+     * Returns the products with the given ids, ordered by id. Unknown ids are
+     * skipped and duplicates are returned once. Large id sets are split into
+     * IN-lists of at most {@code app.products.batch.chunk-size} ids, which run
+     * in parallel on the repository executor.
+     */
+    public List<Product> findByIds(Collection<Integer> ids) {
+        List<Integer> distinct = ids.stream().filter(Objects::nonNull).distinct().sorted().toList();
+        if (distinct.isEmpty()) {
+            return List.of();
+        }
+        Optional<ProductSnapshot> snapshot = snapshots.current();
+        if (snapshot.isPresent()) {
+            return distinct.stream().map(snapshot.get()::findById).flatMap(Optional::stream).toList();
+        }
+
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += idChunkSize) {
+            chunks.add(distinct.subList(from, Math.min(from + idChunkSize, distinct.size())));
+        }
+        List<Product> result;
+        if (chunks.size() == 1) {
+            result = findByIdChunk(chunks.get(0));
+        } else {
+            List<CompletableFuture<List<Product>>> queries = chunks.stream()
+                    .map(chunk -> CompletableFuture.supplyAsync(() -> findByIdChunk(chunk), asyncExecutor))
+                    .toList();
+            try {
+                result = queries.stream().flatMap(query -> query.join().stream()).toList();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
             }
-            logger.debug("Query returned {} products.", result.size());
+        }
+        logger.debug("Lookup of {} ids in {} chunk(s) returned {} products.", distinct.size(), chunks.size(), result.size());
+        return result.stream().sorted(Comparator.comparingInt(Product::getId)).toList();
+    }
+
+    private List<Product> findByIdChunk(List<Integer> ids) {
+        String placeholders = "?, ".repeat(ids.size() - 1) + "?";
+        return resultCache.get(new SqlQuery<>("findByIds", QueryKind.POINT,
+                SELECT_PRODUCTS + " WHERE id IN (" + placeholders + ")", PRODUCT_ROW_MAPPER, ids.toArray()));
+    }
 
-        } catch (SQLException e) {
-            logger.error("Failed to retrieve products from Trino using URL: {}. Error: {}", jdbcUrl, e.getMessage(), e);
-            throw new RuntimeException("Trino query failed: " + e.getMessage(), e);
+    public List<Product> findByCategory(String categoryName) {
+        Optional<ProductSnapshot> snapshot = snapshots.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().findByCategory(categoryName);
+        }
+        if (!categoryGuard.mightExist(categoryName)) {
+            logger.debug("Category '{}' is not known, skipping the query.", categoryName);
+            return List.of();
+        }
+        List<Product> result = resultCache.get(new SqlQuery<>("findByCategory",
+                SELECT_PRODUCTS + " WHERE category = ?", PRODUCT_ROW_MAPPER, categoryName));
+        if (result.isEmpty()) {
+            categoryGuard.recordMiss(categoryName);
         }
+        logger.debug("Query for category '{}' returned {} products.", categoryName, result.size());
         return result;
     }
 
-    public List<Product> findByCategory(String categoryName) {
-        List<Product> result = new ArrayList<>();
-        String query = "SELECT id, name, category, price, stock_quantity FROM postgresql.public.products WHERE category = ?";
-        logger.debug("Executing Trino query: {} with category: {} on URL: {}", query, categoryName, jdbcUrl);
-
-        try (Connection conn = DriverManager.getConnection(jdbcUrl, user, password);
-             PreparedStatement pstmt = conn.prepareStatement(query)) {
-
-            pstmt.setString(1, categoryName);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    Product p = new Product();
-                    p.setId(rs.getInt("id"));
-                    p.setName(rs.getString("name"));
-                    p.setCategory(rs.getString("category"));
-                    p.setPrice(rs.getDouble("price"));
-                    p.setStockQuantity(rs.getInt("stock_quantity"));
-                    result.add(p);
-                }
-            }
-            logger.debug("Query for category '{}' returned {} products.", categoryName, result.size());
+    /**
+     * Returns the products priced between {@code minPrice} and {@code maxPrice}
+     * inclusive, ordered by price and then id.
+     */
+    public List<Product> findByPriceRange(double minPrice, double maxPrice) {
+        if (minPrice > maxPrice) {
+            throw new IllegalArgumentException("minPrice must not exceed maxPrice");
+        }
+        Optional<ProductSnapshot> snapshot = snapshots.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().findByPriceRange(minPrice, maxPrice);
+        }
+        // Unlimited ORDER BY is not pushed down; sorting the matching rows here is just as cheap.
+        List<Product> result = search(ProductFilter.builder().minPrice(minPrice).maxPrice(maxPrice).build()).stream()
+                .sorted(Comparator.comparingDouble(Product::getPrice).thenComparingInt(Product::getId))
+                .toList();
+        logger.debug("Query for prices between {} and {} returned {} products.", minPrice, maxPrice, result.size());
+        return result;
+    }
 
-        } catch (SQLException e) {
-            logger.error("Failed to retrieve products by category '{}' from Trino. Error: {}", categoryName, e.getMessage(), e);
-            throw new RuntimeException("Trino query failed for category: " + e.getMessage(), e);
+    /**
+     * Returns the products matching {@code filter}. The filter must not request
+     * a projection; use {@link #searchProjected(ProductFilter)} for that.
+     */
+    public List<Product> search(ProductFilter filter) {
+        if (filter.isProjection()) {
+            throw new IllegalArgumentException("Projected searches must use searchProjected");
         }
+        List<Product> result = resultCache.get(filter.toQuery("search", PRODUCTS_TABLE, PRODUCT_ROW_MAPPER));
+        logger.debug("Search returned {} products.", result.size());
         return result;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns only the columns selected by {@code filter}, one map per row keyed
+     * by property name. Unselected columns are never read from PostgreSQL.
+     */
+    public List<Map<String, Object>> searchProjected(ProductFilter filter) {
+        if (!filter.isProjection()) {
+            throw new IllegalArgumentException("Projected searches require at least one column");
+        }
+        List<Map<String, Object>> result = resultCache.get(
+                filter.toQuery("searchProjected", PRODUCTS_TABLE, new ProjectionRowMapper(filter.getColumns())));
+        logger.debug("Projected search returned {} rows.", result.size());
+        return result;
+    }
+
+    /**
+     * Returns per-category counts, stock totals, price statistics and
+     * inventory value, ordered by category with uncategorized products last.
+     * The grouping runs inside PostgreSQL, so Trino only receives one row per
+     * category instead of the whole table.
+     */
+    public List<CategoryStats> findCategoryStats() {
+        List<CategoryStats> result = resultCache.get(
+                new SqlQuery<>("findCategoryStats", QueryKind.FEDERATED,
+                        categoryStatsSql, CATEGORY_STATS_ROW_MAPPER)).stream()
+                .sorted(Comparator.comparing(CategoryStats::getCategory, Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
+        logger.debug("Category stats query returned {} categories.", result.size());
+        return result;
+    }
+
+    public CompletableFuture<List<Product>> findAllAsync() {
+        return findAllAsync(asyncTimeout);
+    }
+
+    /**
+     * Runs {@link #findAll()} on the repository executor.
+     *
+     * @param timeout deadline after which the returned future fails with a
+     *                {@link java.util.concurrent.TimeoutException}
+     */
+    public CompletableFuture<List<Product>> findAllAsync(Duration timeout) {
+        return supplyAsync(this::findAll, timeout);
+    }
+
+    public CompletableFuture<List<Product>> findByCategoryAsync(String categoryName) {
+        return findByCategoryAsync(categoryName, asyncTimeout);
+    }
+
+    /**
+     * Runs {@link #findByCategory(String)} on the repository executor.
+     *
+     * @param timeout deadline after which the returned future fails with a
+     *                {@link java.util.concurrent.TimeoutException}
+     */
+    public CompletableFuture<List<Product>> findByCategoryAsync(String categoryName, Duration timeout) {
+        return supplyAsync(() -> findByCategory(categoryName), timeout);
+    }
+
+    /**
+     * Returns up to {@code limit} products with an id greater than the one
+     * encoded in {@code cursor}, ordered by id. As a {@link QueryKind#RANGE}
+     * query it goes straight to PostgreSQL in {@code auto} routing mode; when
+     * routed through Trino, the keyset predicate, ordering and limit are pushed
+     * down through the PostgreSQL connector. Either way every page costs an
+     * index range scan regardless of how deep the client has paged.
+     *
+     * @param cursor continuation token from a previous page, or {@code null} for the first page
+     */
+    public ProductPage findPage(String cursor, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be positive: " + limit);
+        }
+        int afterId = cursor == null ? Integer.MIN_VALUE : ProductCursor.decode(cursor);
+        // Fetch one extra row to learn whether another page exists.
+        List<Product> rows = resultCache.get(new SqlQuery<>("findPage", QueryKind.RANGE,
+                SELECT_PRODUCTS + " WHERE id > ? ORDER BY id LIMIT ?", PRODUCT_ROW_MAPPER, afterId, limit + 1L));
+        boolean hasMore = rows.size() > limit;
+        List<Product> items = hasMore ? rows.subList(0, limit) : rows;
+        logger.debug("Page after id {} returned {} products (more: {}).", afterId, items.size(), hasMore);
+
+        String nextCursor = hasMore ? ProductCursor.encode(items.get(items.size() - 1).getId()) : null;
+        return new ProductPage(items, nextCursor);
+    }
+
+    /**
+     * Streams every product to {@code sink} as rows arrive from Trino, without
+     * collecting them into a list. The connection is held until the sink has
+     * consumed the last row, so the sink should write straight to its target.
+     * Streaming always bypasses the result cache.
+     *
+     * @return the number of rows passed to the sink
+     */
+    public long streamAll(Consumer<? super Product> sink) {
+        long count = queryExecutor.stream(new SqlQuery<>("streamAll", SELECT_PRODUCTS, PRODUCT_ROW_MAPPER), sink);
+        logger.debug("Streamed {} products.", count);
+        return count;
+    }
+
+    /**
+     * The deadline only completes the returned future; a Trino query that is
+     * already running finishes in the background and its result is dropped.
+     * If the executor is saturated the task is rejected immediately.
+     */
+    private <T> CompletableFuture<T> supplyAsync(Supplier<T> query, Duration timeout) {
+        return CompletableFuture.supplyAsync(query, asyncExecutor)
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+}
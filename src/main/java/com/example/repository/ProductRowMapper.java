@@ -0,0 +1,44 @@
+package com.example.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.springframework.jdbc.core.RowMapper;
+
+import com.example.model.Product;
+
+/**
+ * Maps a {@code products} row by column position.
+ * <p>
+ * Reading by label makes the driver resolve the label to an index for every
+ * cell of every row; reading by position skips that lookup. The positions are
+ * only valid for queries that select {@link #COLUMNS} in this order, which is
+ * why the repository builds its SELECT lists from that constant.
+ */
+public final class ProductRowMapper implements RowMapper<Product> {
+
+    public static final ProductRowMapper INSTANCE = new ProductRowMapper();
+
+    /** Select list matching the column positions read by this mapper. */
+    public static final String COLUMNS = "id, name, category, price, stock_quantity";
+
+    private static final int ID = 1;
+    private static final int NAME = 2;
+    private static final int CATEGORY = 3;
+    private static final int PRICE = 4;
+    private static final int STOCK_QUANTITY = 5;
+
+    private ProductRowMapper() {
+    }
+
+    @Override
+    public Product mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Product p = new Product();
+        p.setId(rs.getInt(ID));
+        p.setName(rs.getString(NAME));
+        p.setCategory(rs.getString(CATEGORY));
+        p.setPrice(rs.getDouble(PRICE));
+        p.setStockQuantity(rs.getInt(STOCK_QUANTITY));
+        return p;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.repository;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.example.model.Product;
+
+/**
+ * Appends generated products at startup for staging and benchmark databases.
+ * <p>
+ * Active only when {@code app.products.seed.rows} is set. Ids continue after
+ * the current maximum, so running it again grows the table instead of
+ * failing on duplicate keys. The rows are generated lazily per partition, so
+ * memory use does not depend on the row count.
+ */
+@Component
+@ConditionalOnProperty(name = "app.products.seed.rows")
+public class ProductSeeder implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSeeder.class);
+
+    private static final String[] CATEGORIES = {"Electronics", "Kitchen", "Office", "Garden", "Toys", "Sports"};
+
+    private final ProductBulkLoader loader;
+    private final DataSource dataSource;
+    private final long rows;
+    private final int partitions;
+
+    public ProductSeeder(
+            ProductBulkLoader loader,
+            DataSource dataSource,
+            @Value("${app.products.seed.rows}") long rows,
+            @Value("${app.products.seed.partitions:8}") int partitions) {
+        this.loader = loader;
+        this.dataSource = dataSource;
+        this.rows = rows;
+        this.partitions = partitions;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (rows <= 0) {
+            return;
+        }
+        int firstId = maxId() + 1;
+        if (firstId + rows > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Seeding " + rows + " products after id " + (firstId - 1) + " overflows the id column");
+        }
+        logger.info("Seeding {} products starting at id {} in {} partition(s)...", rows, firstId, partitions);
+
+        List<Iterable<Product>> ranges = new ArrayList<>(partitions);
+        long perPartition = (rows + partitions - 1) / partitions;
+        for (long from = 0; from < rows; from += perPartition) {
+            int start = (int) (firstId + from);
+            int end = (int) (firstId + Math.min(rows, from + perPartition));
+            ranges.add(() -> generate(start, end));
+        }
+        loader.loadPartitions(ranges);
+    }
+
+    private int maxId() {
+        try (Connection conn = dataSource.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT coalesce(max(id), 0) FROM products")) {
+            rs.next();
+            return rs.getInt(1);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to read the highest product id: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return products with ids from {@code start} inclusive to {@code end} exclusive
+     */
+    static Iterator<Product> generate(int start, int end) {
+        return new Iterator<>() {
+            private int next = start;
+
+            @Override
+            public boolean hasNext() {
+                return next < end;
+            }
+
+            @Override
+            public Product next() {
+                if (next >= end) {
+                    throw new NoSuchElementException();
+                }
+                int id = next++;
+                Product p = new Product();
+                p.setId(id);
+                p.setName("Product " + id);
+                p.setCategory(CATEGORIES[id % CATEGORIES.length]);
+                p.setPrice((id % 100_000) / 100.0);
+                p.setStockQuantity(id % 1000);
+                return p;
+            }
+        };
+    }
+}
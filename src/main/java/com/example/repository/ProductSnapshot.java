@@ -0,0 +1,170 @@
+package com.example.repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.example.model.CategoryDictionary;
+import com.example.model.Product;
+
+/**
+ * Immutable in-memory copy of the {@code products} table.
+ * <p>
+ * Besides the rows ordered by id it holds a hash index on {@code id}, an
+ * index on {@code category} addressed by {@link CategoryDictionary} id and the
+ * rows ordered by price with a parallel array of prices for binary search.
+ * All indexes are built once when the snapshot is created and never change,
+ * so any number of threads can read it without locking. The returned
+ * {@link Product} instances are shared and must not be modified.
+ */
+public final class ProductSnapshot {
+
+    private static final Comparator<Product> BY_PRICE =
+            Comparator.comparingDouble(Product::getPrice).thenComparingInt(Product::getId);
+
+    private final Instant loadedAt;
+    private final ProductDataVersion version;
+    private final List<Product> products;
+    private final Map<Integer, Product> byId;
+    /** Products per {@link CategoryDictionary} id; {@code null} for ids without products. */
+    private final List<List<Product>> byCategoryId;
+    /** Products whose category did not fit into the dictionary, normally empty. */
+    private final Map<String, List<Product>> byUnencodedCategory;
+    private final List<Product> byPrice;
+    private final double[] prices;
+
+    ProductSnapshot(List<Product> rows, Instant loadedAt) {
+        this(rows, loadedAt, null);
+    }
+
+    /**
+     * @param version version of the table the rows were read from, taken
+     *                before reading them, or {@code null} if unknown
+     */
+    ProductSnapshot(List<Product> rows, Instant loadedAt, ProductDataVersion version) {
+        this.loadedAt = loadedAt;
+        this.version = version;
+
+        List<Product> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparingInt(Product::getId));
+        this.products = Collections.unmodifiableList(sorted);
+
+        Map<Integer, Product> ids = new HashMap<>(Math.max(16, (int) (sorted.size() / 0.75f) + 1));
+        List<List<Product>> categories = new ArrayList<>();
+        Map<String, List<Product>> unencoded = new HashMap<>();
+        for (Product product : sorted) {
+            ids.put(product.getId(), product);
+            // Like "category = ?" in SQL, a lookup never matches products without a category.
+            int categoryId = product.getCategoryId();
+            if (categoryId != CategoryDictionary.NONE) {
+                while (categories.size() <= categoryId) {
+                    categories.add(null);
+                }
+                if (categories.get(categoryId) == null) {
+                    categories.set(categoryId, new ArrayList<>());
+                }
+                categories.get(categoryId).add(product);
+            } else if (product.getCategory() != null) {
+                unencoded.computeIfAbsent(product.getCategory(), category -> new ArrayList<>()).add(product);
+            }
+        }
+        this.byId = Collections.unmodifiableMap(ids);
+        categories.replaceAll(list -> list == null ? null : Collections.unmodifiableList(list));
+        this.byCategoryId = categories;
+        unencoded.replaceAll((category, list) -> Collections.unmodifiableList(list));
+        this.byUnencodedCategory = Collections.unmodifiableMap(unencoded);
+
+        List<Product> priced = new ArrayList<>(sorted);
+        priced.sort(BY_PRICE);
+        this.byPrice = Collections.unmodifiableList(priced);
+        this.prices = new double[priced.size()];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = priced.get(i).getPrice();
+        }
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    /**
+     * @return the table version this snapshot was loaded from, or empty if it
+     *         was not known at the time
+     */
+    public Optional<ProductDataVersion> getVersion() {
+        return Optional.ofNullable(version);
+    }
+
+    public int size() {
+        return products.size();
+    }
+
+    /**
+     * @return every product, ordered by id
+     */
+    public List<Product> findAll() {
+        return products;
+    }
+
+    public Optional<Product> findById(int id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    /**
+     * @return the products of {@code category} ordered by id, or an empty list
+     */
+    public List<Product> findByCategory(String category) {
+        if (category == null) {
+            return List.of();
+        }
+        int categoryId = CategoryDictionary.shared().lookup(category);
+        if (categoryId == CategoryDictionary.NONE) {
+            return byUnencodedCategory.getOrDefault(category, List.of());
+        }
+        List<Product> products = categoryId < byCategoryId.size() ? byCategoryId.get(categoryId) : null;
+        return products == null ? List.of() : products;
+    }
+
+    /**
+     * @return the products priced between {@code minPrice} and {@code maxPrice}
+     *         inclusive, ordered by price and then id
+     */
+    public List<Product> findByPriceRange(double minPrice, double maxPrice) {
+        int from = firstIndexAtLeast(minPrice);
+        int to = firstIndexAbove(maxPrice);
+        return from >= to ? List.of() : byPrice.subList(from, to);
+    }
+
+    private int firstIndexAtLeast(double price) {
+        int low = 0;
+        int high = prices.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prices[mid] < price) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int firstIndexAbove(double price) {
+        int low = 0;
+        int high = prices.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prices[mid] <= price) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
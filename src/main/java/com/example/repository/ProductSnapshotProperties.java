@@ -0,0 +1,49 @@
+package com.example.repository;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the in-memory product snapshot, bound from {@code app.products.snapshot.*}.
+ */
+@ConfigurationProperties(prefix = "app.products.snapshot")
+public class ProductSnapshotProperties {
+
+    /** Whether finders are served from an in-memory copy of the table. */
+    private boolean enabled = false;
+
+    /** Delay between the end of one reload and the start of the next. */
+    private Duration refreshInterval = Duration.ofMinutes(1);
+
+    /**
+     * Oldest snapshot that may still be served. Once the last successful load
+     * is older than this, for example because Trino is unreachable, finders go
+     * back to querying Trino until a reload succeeds.
+     */
+    private Duration maxStaleness = Duration.ofMinutes(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    public Duration getMaxStaleness() {
+        return maxStaleness;
+    }
+
+    public void setMaxStaleness(Duration maxStaleness) {
+        this.maxStaleness = maxStaleness;
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.repository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.example.model.Product;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Holds the current {@link ProductSnapshot} and reloads it periodically.
+ * <p>
+ * A reload builds a complete new snapshot off to the side and then replaces
+ * the reference in one volatile write, so readers see either the old or the
+ * new table but never a mix. A failed reload keeps the previous snapshot;
+ * {@link #current()} stops returning it once it is older than
+ * {@code max-staleness}. Each snapshot carries the table version it was
+ * loaded from, so reloading unchanged data keeps clients' validators valid.
+ */
+@Component
+public class ProductSnapshotStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSnapshotStore.class);
+
+    private final ProductSnapshotProperties properties;
+    private final Supplier<List<Product>> loader;
+    private final Supplier<Optional<ProductDataVersion>> version;
+    private final Clock clock;
+    private final Timer reloadTimer;
+    private volatile ProductSnapshot snapshot;
+    private ScheduledExecutorService scheduler;
+
+    @Autowired
+    public ProductSnapshotStore(
+            ProductSnapshotProperties properties,
+            QueryExecutor executor,
+            ProductVersionTracker versionTracker,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this(properties,
+                () -> executor.list(new SqlQuery<>("loadSnapshot", ProductRepository.SELECT_PRODUCTS, ProductRowMapper.INSTANCE)),
+                versionTracker::current,
+                Clock.systemUTC(),
+                meterRegistry.getIfAvailable());
+        logger.info("Product snapshot {} (refresh interval: {}, max staleness: {})",
+                properties.isEnabled() ? "enabled" : "disabled",
+                properties.getRefreshInterval(), properties.getMaxStaleness());
+    }
+
+    /**
+     * @param version       current version of the table, or empty if unknown
+     * @param meterRegistry registry for snapshot metrics, or {@code null}
+     */
+    ProductSnapshotStore(
+            ProductSnapshotProperties properties,
+            Supplier<List<Product>> loader,
+            Supplier<Optional<ProductDataVersion>> version,
+            Clock clock,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.loader = loader;
+        this.version = version;
+        this.clock = clock;
+        if (meterRegistry == null) {
+            this.reloadTimer = null;
+            return;
+        }
+        this.reloadTimer = Timer.builder("products.snapshot.reload")
+                .description("Time to load the product table and build the snapshot indexes")
+                .register(meterRegistry);
+        Gauge.builder("products.snapshot.size", this, store -> store.snapshot == null ? 0 : store.snapshot.size())
+                .description("Products held in the in-memory snapshot")
+                .register(meterRegistry);
+        Gauge.builder("products.snapshot.age", this, store -> store.snapshot == null
+                        ? Double.NaN : Duration.between(store.snapshot.getLoadedAt(), clock.instant()).toMillis() / 1000.0)
+                .description("Seconds since the in-memory snapshot was loaded")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return the snapshot to serve, or empty if snapshots are disabled, not
+     *         loaded yet or older than the staleness bound
+     */
+    public Optional<ProductSnapshot> current() {
+        ProductSnapshot current = snapshot;
+        if (!properties.isEnabled() || current == null) {
+            return Optional.empty();
+        }
+        Duration age = Duration.between(current.getLoadedAt(), clock.instant());
+        if (age.compareTo(properties.getMaxStaleness()) > 0) {
+            logger.debug("Product snapshot is {} old, falling back to Trino.", age);
+            return Optional.empty();
+        }
+        return Optional.of(current);
+    }
+
+    /**
+     * Loads the table and swaps in a new snapshot. On failure the previous
+     * snapshot stays in place.
+     *
+     * @return whether a new snapshot was installed
+     */
+    public boolean reload() {
+        Instant loadedAt = clock.instant();
+        long start = System.nanoTime();
+        try {
+            // A write during the load would leave rows newer than a version read
+            // before it, and clients holding the previous data would be told it is
+            // current. The snapshot is only tagged if the version did not move
+            // while the rows were read; otherwise it goes without validators.
+            ProductDataVersion before = version.get().orElse(null);
+            List<Product> rows = loader.get();
+            ProductDataVersion after = version.get().orElse(null);
+            ProductDataVersion loadedVersion = before != null && after != null
+                    && before.getTag().equals(after.getTag()) ? before : null;
+            if (before != null && loadedVersion == null) {
+                logger.debug("Product data changed while loading the snapshot, serving it without a version.");
+            }
+            ProductSnapshot loaded = new ProductSnapshot(rows, loadedAt, loadedVersion);
+            snapshot = loaded;
+            long elapsed = System.nanoTime() - start;
+            if (reloadTimer != null) {
+                reloadTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            }
+            logger.info("Loaded product snapshot with {} products in {} ms.",
+                    loaded.size(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+            return true;
+        } catch (RuntimeException e) {
+            logger.warn("Failed to reload product snapshot, keeping the one loaded at {}. Error: {}",
+                    snapshot == null ? "never" : snapshot.getLoadedAt(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Starts periodic reloads once the application is ready, so the first load
+     * runs against a warmed-up connection pool.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!properties.isEnabled() || scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "product-snapshot-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::reload, 0,
+                properties.getRefreshInterval().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
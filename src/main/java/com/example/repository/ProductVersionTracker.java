@@ -0,0 +1,191 @@
+package com.example.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Tracks a cheap version token for the {@code products} table, so that
+ * conditional requests can be answered without scanning it.
+ * <p>
+ * The token is a hash of the table's row in {@code pg_stat_user_tables}:
+ * its oid and its insert, update, delete and live row counters. Reading them
+ * is a catalog lookup that costs the same for ten rows and for ten million,
+ * unlike any aggregate over the table itself. Every committed write moves at
+ * least one counter, but PostgreSQL only publishes a session's counters when
+ * it flushes its statistics, so a change can take a few seconds to show. A
+ * statistics reset also changes the token, which merely costs clients one
+ * full response.
+ * <p>
+ * The checksum is recomputed at most once per {@code check-interval}. When it
+ * changes, cached query results are dropped so that the next response is
+ * never older than the version it is tagged with.
+ */
+@Component
+public class ProductVersionTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductVersionTracker.class);
+
+    private final boolean enabled;
+    private final Supplier<String> checksum;
+    private final Runnable onChange;
+    private final Clock clock;
+    private final Duration checkInterval;
+    private final Timer checkTimer;
+    private final Counter changeCounter;
+    private volatile Check last;
+    /** Last successfully computed version, kept across failed checks. Guarded by {@code this}. */
+    private ProductDataVersion known;
+
+    @Autowired
+    public ProductVersionTracker(
+            QueryExecutor executor,
+            QueryResultCache resultCache,
+            @Value("${app.trino.jdbc.catalog:postgresql}") String catalog,
+            @Value("${app.trino.jdbc.schema:public}") String schema,
+            @Value("${app.products.data-version.enabled:true}") boolean enabled,
+            @Value("${app.products.data-version.check-interval:1s}") Duration checkInterval,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this(enabled,
+                () -> executor.list(new SqlQuery<>("findDataVersion", QueryKind.FEDERATED,
+                        checksumSql(catalog, schema), (rs, rowNum) -> rs.getLong(1) + ":" + rs.getLong(2) + ":"
+                        + rs.getLong(3) + ":" + rs.getLong(4) + ":" + rs.getLong(5))).stream()
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalStateException("No statistics for table "
+                                + schema + "." + ProductRepository.PRODUCTS_TABLE)),
+                resultCache::invalidateAll,
+                Clock.systemUTC(),
+                checkInterval,
+                meterRegistry.getIfAvailable());
+        logger.info("Product data version {} (check interval: {})", enabled ? "enabled" : "disabled", checkInterval);
+    }
+
+    /**
+     * @param checksum      computes the current checksum of the table
+     * @param onChange      called when the checksum differs from the last one
+     * @param meterRegistry registry for version check metrics, or {@code null}
+     */
+    ProductVersionTracker(boolean enabled, Supplier<String> checksum, Runnable onChange, Clock clock,
+                          Duration checkInterval, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.checksum = checksum;
+        this.onChange = onChange;
+        this.clock = clock;
+        this.checkInterval = checkInterval;
+        if (meterRegistry == null) {
+            this.checkTimer = null;
+            this.changeCounter = null;
+            return;
+        }
+        this.checkTimer = Timer.builder("products.data.version.check")
+                .description("Time to compute the product table checksum")
+                .register(meterRegistry);
+        this.changeCounter = Counter.builder("products.data.version.changes")
+                .description("Product table changes detected by the version checksum")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Like the category statistics, the query is run by PostgreSQL verbatim:
+     * {@code pg_stat_user_tables} is not visible through the connector.
+     */
+    static String checksumSql(String catalog, String schema) {
+        return "SELECT * FROM TABLE(" + catalog + ".system.query(query => '"
+                + "SELECT relid::bigint, n_tup_ins, n_tup_upd, n_tup_del, n_live_tup FROM pg_stat_user_tables "
+                + "WHERE schemaname = ''" + schema + "'' AND relname = ''" + ProductRepository.PRODUCTS_TABLE + "''"
+                + "'))";
+    }
+
+    /**
+     * @return the current version, or empty if tracking is disabled or the
+     *         checksum could not be computed
+     */
+    public Optional<ProductDataVersion> current() {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Check check = last;
+        if (check != null && check.isFresh(clock.instant(), checkInterval)) {
+            return Optional.ofNullable(check.version);
+        }
+        synchronized (this) {
+            check = last;
+            Instant now = clock.instant();
+            if (check != null && check.isFresh(now, checkInterval)) {
+                return Optional.ofNullable(check.version);
+            }
+            ProductDataVersion previous = known;
+            ProductDataVersion version = null;
+            long start = System.nanoTime();
+            try {
+                String tag = hash(checksum.get());
+                if (previous != null && previous.getTag().equals(tag)) {
+                    version = previous;
+                } else {
+                    version = new ProductDataVersion(tag, now.truncatedTo(ChronoUnit.SECONDS));
+                    if (previous != null) {
+                        logger.info("Product data changed, new version {}.", tag);
+                        if (changeCounter != null) {
+                            changeCounter.increment();
+                        }
+                        onChange.run();
+                    }
+                    known = version;
+                }
+            } catch (RuntimeException e) {
+                // Answer without validators until the next check rather than
+                // with a version that may be outdated.
+                logger.warn("Failed to compute product data version. Error: {}", e.getMessage());
+            } finally {
+                if (checkTimer != null) {
+                    checkTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            }
+            last = new Check(version, now);
+            return Optional.ofNullable(version);
+        }
+    }
+
+    private static String hash(String checksum) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(checksum.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 12);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class Check {
+
+        private final ProductDataVersion version;
+        private final Instant checkedAt;
+
+        Check(ProductDataVersion version, Instant checkedAt) {
+            this.version = version;
+            this.checkedAt = checkedAt;
+        }
+
+        boolean isFresh(Instant now, Duration checkInterval) {
+            return now.isBefore(checkedAt.plus(checkInterval));
+        }
+    }
+}
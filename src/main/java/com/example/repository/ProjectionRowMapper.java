@@ -0,0 +1,35 @@
+package com.example.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * Maps a projected {@code products} row to a map keyed by property name, so
+ * that columns which were not selected are absent rather than defaulted.
+ */
+final class ProjectionRowMapper implements RowMapper<Map<String, Object>> {
+
+    private final List<ProductColumn> columns;
+
+    /**
+     * @param columns the selected columns in select-list order
+     */
+    ProjectionRowMapper(List<ProductColumn> columns) {
+        this.columns = List.copyOf(columns);
+    }
+
+    @Override
+    public Map<String, Object> mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Map<String, Object> row = new LinkedHashMap<>(columns.size() * 2);
+        for (int i = 0; i < columns.size(); i++) {
+            ProductColumn column = columns.get(i);
+            row.put(column.property(), column.read(rs, i + 1));
+        }
+        return row;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.repository;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings for the repository result cache, bound from {@code app.products.cache.*}.
+ */
+@ConfigurationProperties(prefix = "app.products.cache")
+public class QueryCacheProperties {
+
+    /** Whether query results are cached at all. */
+    private boolean enabled = false;
+
+    /** Time-to-live for queries without an entry in {@link #ttl}; zero disables caching for them. */
+    private Duration defaultTtl = Duration.ZERO;
+
+    /** Time-to-live per query name (repository method), e.g. {@code findAll}. */
+    private Map<String, Duration> ttl = new LinkedHashMap<>();
+
+    /**
+     * Age after which a cached result is still served but reloaded in the
+     * background (stale-while-revalidate). Should be shorter than the TTL.
+     */
+    private Duration refreshAfter = Duration.ofSeconds(30);
+
+    /** Upper bound for the estimated heap footprint of all cached results. */
+    private DataSize maximumSize = DataSize.ofMegabytes(64);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getDefaultTtl() {
+        return defaultTtl;
+    }
+
+    public void setDefaultTtl(Duration defaultTtl) {
+        this.defaultTtl = defaultTtl;
+    }
+
+    public Map<String, Duration> getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Map<String, Duration> ttl) {
+        this.ttl = ttl;
+    }
+
+    public Duration getRefreshAfter() {
+        return refreshAfter;
+    }
+
+    public void setRefreshAfter(Duration refreshAfter) {
+        this.refreshAfter = refreshAfter;
+    }
+
+    public DataSize getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(DataSize maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * @return the TTL for the named query, or {@link Duration#ZERO} if it is not cached
+     */
+    public Duration ttlFor(String queryName) {
+        return ttl.getOrDefault(queryName, defaultTtl);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.repository;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Runs {@link SqlQuery} instances against one database engine.
+ */
+public interface QueryExecutor {
+
+    /**
+     * Runs the query and returns all mapped rows as an unmodifiable list.
+     */
+    <T> List<T> list(SqlQuery<T> query);
+
+    /**
+     * Runs the query and hands each mapped row to {@code sink} as it arrives.
+     * The connection is held until the sink has consumed the last row.
+     *
+     * @return the number of rows passed to the sink
+     */
+    <T> long stream(SqlQuery<T> query, Consumer<? super T> sink);
+}
@@ -0,0 +1,31 @@
+package com.example.repository;
+
+/**
+ * Shape of a repository query, used by {@link RoutingQueryExecutor} to pick the engine
+ * that answers it cheapest.
+ */
+public enum QueryKind {
+
+    /** Lookup of one or a few rows by primary key. */
+    POINT,
+
+    /** Bounded read of a short range of the primary key index, e.g. a keyset page. */
+    RANGE,
+
+    /** Unbounded read of many rows. */
+    SCAN,
+
+    /** Grouping or aggregation over the table. */
+    AGGREGATE,
+
+    /** Uses Trino-only SQL such as connector table functions or other catalogs. */
+    FEDERATED;
+
+    /**
+     * @return whether the query only touches a few rows through an index, so
+     *         PostgreSQL answers it without Trino's planning and scheduling overhead
+     */
+    public boolean isSelective() {
+        return this == POINT || this == RANGE;
+    }
+}
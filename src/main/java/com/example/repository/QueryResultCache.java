@@ -0,0 +1,22 @@
+package com.example.repository;
+
+import java.util.List;
+
+/**
+ * Read-through cache sitting between {@link ProductRepository} and Trino.
+ * <p>
+ * Implementations decide per query whether a result may be served from
+ * memory; queries that are not cached are passed straight to the loader.
+ */
+public interface QueryResultCache {
+
+    /**
+     * Returns the result of {@code query}, loading it from Trino on a miss.
+     */
+    <T> List<T> get(SqlQuery<T> query);
+
+    /**
+     * Drops every cached result, e.g. after the underlying data was reloaded.
+     */
+    void invalidateAll();
+}
@@ -0,0 +1,118 @@
+package com.example.repository;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * {@link QueryExecutor} that sends each query to PostgreSQL or Trino.
+ * <p>
+ * In {@code auto} mode, selective queries ({@link QueryKind#POINT} and
+ * {@link QueryKind#RANGE}) go straight to PostgreSQL, where an index lookup
+ * takes far less time than Trino's planning and scheduling; scans,
+ * aggregations and federated queries go to Trino. {@code trino} and
+ * {@code postgres} force one engine, except that federated queries can only
+ * run on Trino.
+ */
+@Primary
+@Component
+public class RoutingQueryExecutor implements QueryExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoutingQueryExecutor.class);
+
+    public enum Route {
+        TRINO, POSTGRES
+    }
+
+    enum Mode {
+        AUTO, TRINO, POSTGRES
+    }
+
+    private final TrinoQueryExecutor trino;
+    private final PostgresQueryExecutor postgres;
+    private final Mode mode;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public RoutingQueryExecutor(
+            TrinoQueryExecutor trino,
+            PostgresQueryExecutor postgres,
+            @Value("${app.products.routing.mode:auto}") String mode,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this(trino, postgres, Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT)), meterRegistry.getIfAvailable());
+        logger.info("Query routing mode: {}", this.mode);
+    }
+
+    /**
+     * @param meterRegistry registry for per-route latency, or {@code null}
+     */
+    RoutingQueryExecutor(TrinoQueryExecutor trino, PostgresQueryExecutor postgres, Mode mode, MeterRegistry meterRegistry) {
+        this.trino = trino;
+        this.postgres = postgres;
+        this.mode = mode;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @return the engine that runs {@code query} in the configured mode
+     */
+    public Route route(SqlQuery<?> query) {
+        if (query.getKind() == QueryKind.FEDERATED) {
+            return Route.TRINO;
+        }
+        return switch (mode) {
+            case TRINO -> Route.TRINO;
+            case POSTGRES -> Route.POSTGRES;
+            case AUTO -> query.getKind().isSelective() ? Route.POSTGRES : Route.TRINO;
+        };
+    }
+
+    @Override
+    public <T> List<T> list(SqlQuery<T> query) {
+        Route route = route(query);
+        QueryExecutor executor = route == Route.POSTGRES ? postgres : trino;
+        return timed(query, route, () -> executor.list(query));
+    }
+
+    @Override
+    public <T> long stream(SqlQuery<T> query, Consumer<? super T> sink) {
+        Route route = route(query);
+        QueryExecutor executor = route == Route.POSTGRES ? postgres : trino;
+        return timed(query, route, () -> executor.stream(query, sink));
+    }
+
+    private <R> R timed(SqlQuery<?> query, Route route, Supplier<R> execution) {
+        logger.debug("Routing query '{}' ({}) to {}.", query.getName(), query.getKind(), route);
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            R result = execution.get();
+            outcome = "success";
+            return result;
+        } finally {
+            if (meterRegistry != null) {
+                Timer.builder("repository.query")
+                        .description("Repository query latency by the engine it was routed to")
+                        .tag("method", query.getName())
+                        .tag("kind", query.getKind().name().toLowerCase(Locale.ROOT))
+                        .tag("route", route.name().toLowerCase(Locale.ROOT))
+                        .tag("outcome", outcome)
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
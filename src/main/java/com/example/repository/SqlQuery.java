@@ -0,0 +1,90 @@
+package com.example.repository;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * A parameterized repository query together with the mapper for its rows.
+ * <p>
+ * Two queries are equal when their name, SQL text and bound parameters are
+ * equal; the row mapper and the {@link QueryKind} are not part of the
+ * identity. This makes instances usable as keys for result caching.
+ *
+ * @param <T> type of the mapped rows
+ */
+public final class SqlQuery<T> {
+
+    private final String name;
+    private final QueryKind kind;
+    private final String sql;
+    private final List<Object> parameters;
+    private final RowMapper<T> rowMapper;
+
+    /**
+     * Creates a {@link QueryKind#SCAN} query.
+     *
+     * @param name logical name of the query, usually the repository method; used
+     *             to look up per-query settings and to tag log lines
+     */
+    public SqlQuery(String name, String sql, RowMapper<T> rowMapper, Object... parameters) {
+        this(name, QueryKind.SCAN, sql, rowMapper, parameters);
+    }
+
+    /**
+     * @param name logical name of the query, usually the repository method; used
+     *             to look up per-query settings and to tag log lines
+     * @param kind shape of the query, used to route it
+     */
+    public SqlQuery(String name, QueryKind kind, String sql, RowMapper<T> rowMapper, Object... parameters) {
+        this.name = Objects.requireNonNull(name, "name");
+        this.kind = Objects.requireNonNull(kind, "kind");
+        this.sql = Objects.requireNonNull(sql, "sql");
+        this.rowMapper = Objects.requireNonNull(rowMapper, "rowMapper");
+        this.parameters = Collections.unmodifiableList(Arrays.asList(parameters.clone()));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public QueryKind getKind() {
+        return kind;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public List<Object> getParameters() {
+        return parameters;
+    }
+
+    public RowMapper<T> getRowMapper() {
+        return rowMapper;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SqlQuery<?> other)) {
+            return false;
+        }
+        return name.equals(other.name) && sql.equals(other.sql) && parameters.equals(other.parameters);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, sql, parameters);
+    }
+
+    @Override
+    public String toString() {
+        return name + "[" + sql + "] " + parameters;
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.repository;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pooled source of Trino JDBC connections used by the repository layer.
+ * <p>
+ * Wraps a dedicated HikariCP pool so that requests borrow an already
+ * negotiated connection instead of going through {@code DriverManager} on
+ * every call. The pool is deliberately not exposed as a {@code DataSource}
+ * bean, so Spring Boot keeps auto-configuring the PostgreSQL data source used
+ * for {@code schema.sql}/{@code data.sql}.
+ */
+@Component
+public class TrinoConnectionPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrinoConnectionPool.class);
+
+    static final String POOL_NAME = "trino-pool";
+
+    private final HikariDataSource dataSource;
+    private final boolean prewarm;
+
+    public TrinoConnectionPool(
+            @Value("${app.trino.jdbc.url}") String jdbcUrl,
+            @Value("${app.trino.jdbc.user:test_trino_user}") String user,
+            @Value("${app.trino.jdbc.password:#{null}}") String password,
+            @Value("${app.trino.jdbc.catalog:postgresql}") String catalog,
+            @Value("${app.trino.jdbc.schema:public}") String schema,
+            @Value("${app.trino.pool.min-idle:2}") int minIdle,
+            @Value("${app.trino.pool.max-size:10}") int maxSize,
+            @Value("${app.trino.pool.idle-timeout:10m}") Duration idleTimeout,
+            @Value("${app.trino.pool.max-lifetime:30m}") Duration maxLifetime,
+            @Value("${app.trino.pool.connection-timeout:5s}") Duration connectionTimeout,
+            @Value("${app.trino.pool.validation-timeout:2s}") Duration validationTimeout,
+            @Value("${app.trino.pool.validation-query:SELECT 1}") String validationQuery,
+            @Value("${app.trino.pool.prewarm:true}") boolean prewarm,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(POOL_NAME);
+        config.setDriverClassName("io.trino.jdbc.TrinoDriver");
+        config.setJdbcUrl(jdbcUrl);
+        config.setUsername(user);
+        config.setPassword(password);
+        // Default catalog and schema, so that the repository's unqualified table
+        // names mean the same table in Trino and in PostgreSQL.
+        config.setCatalog(catalog);
+        config.setSchema(schema);
+        config.setMinimumIdle(minIdle);
+        config.setMaximumPoolSize(maxSize);
+        config.setIdleTimeout(idleTimeout.toMillis());
+        config.setMaxLifetime(maxLifetime.toMillis());
+        config.setConnectionTimeout(connectionTimeout.toMillis());
+        config.setValidationTimeout(validationTimeout.toMillis());
+        if (validationQuery != null && !validationQuery.isBlank()) {
+            config.setConnectionTestQuery(validationQuery);
+        }
+        // Do not fail application startup when Trino is not reachable yet; the
+        // pool keeps retrying in the background and requests fail individually.
+        config.setInitializationFailTimeout(-1);
+        meterRegistry.ifAvailable(config::setMetricRegistry);
+
+        this.dataSource = new HikariDataSource(config);
+        this.prewarm = prewarm;
+        logger.info("Trino connection pool '{}' created for URL: {}, User: {}, Schema: {}.{} (min idle: {}, max size: {})",
+                POOL_NAME, jdbcUrl, user, catalog, schema, minIdle, maxSize);
+    }
+
+    public Connection getConnection() throws SQLException {
+        return dataSource.getConnection();
+    }
+
+    public String getJdbcUrl() {
+        return dataSource.getJdbcUrl();
+    }
+
+    public HikariPoolMXBean getPoolStats() {
+        return dataSource.getHikariPoolMXBean();
+    }
+
+    /**
+     * Opens {@code minimumIdle} connections and runs the validation query on
+     * each of them once the application is ready, so the first requests do not
+     * pay for HTTP client setup and session negotiation.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void prewarm() {
+        if (!prewarm) {
+            return;
+        }
+        int target = dataSource.getMinimumIdle();
+        long start = System.nanoTime();
+        List<Connection> borrowed = new ArrayList<>(target);
+        try {
+            for (int i = 0; i < target; i++) {
+                Connection conn = dataSource.getConnection();
+                borrowed.add(conn);
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute(dataSource.getConnectionTestQuery() != null
+                            ? dataSource.getConnectionTestQuery() : "SELECT 1");
+                }
+            }
+            logger.info("Pre-warmed {} Trino connection(s) in {} ms.",
+                    borrowed.size(), Duration.ofNanos(System.nanoTime() - start).toMillis());
+        } catch (SQLException e) {
+            logger.warn("Failed to pre-warm Trino connection pool after {} connection(s). Error: {}",
+                    borrowed.size(), e.getMessage());
+        } finally {
+            for (Connection conn : borrowed) {
+                try {
+                    conn.close();
+                } catch (SQLException e) {
+                    logger.debug("Error returning pre-warmed connection to pool", e);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        logger.info("Closing Trino connection pool '{}'", POOL_NAME);
+        dataSource.close();
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Runs {@link SqlQuery} instances against Trino using pooled connections.
+ * <p>
+ * This is the only place that talks JDBC to Trino; the repository decides
+ * which queries to run and whether a cached result can be served instead.
+ * Identical {@link #list} calls that overlap in time share one Trino query.
+ */
+@Component
+public class TrinoQueryExecutor implements QueryExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrinoQueryExecutor.class);
+
+    private final TrinoConnectionPool connectionPool;
+    private final String jdbcUrl;
+    private final SingleFlight<SqlQuery<?>, List<?>> singleFlight;
+    private final TrinoQueryMetrics metrics;
+
+    public TrinoQueryExecutor(
+            TrinoConnectionPool connectionPool,
+            TrinoQueryMetrics metrics,
+            @Value("${app.trino.single-flight.enabled:true}") boolean singleFlightEnabled,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.connectionPool = connectionPool;
+        this.jdbcUrl = connectionPool.getJdbcUrl();
+        this.metrics = metrics;
+        this.singleFlight = singleFlightEnabled ? new SingleFlight<>() : null;
+        if (singleFlight != null) {
+            meterRegistry.ifAvailable(registry -> {
+                FunctionCounter.builder("trino.query.coalesced", singleFlight, SingleFlight::getCoalescedCount)
+                        .description("Query calls answered by an identical in-flight Trino query")
+                        .register(registry);
+                Gauge.builder("trino.query.in.flight", singleFlight, SingleFlight::getInFlightCount)
+                        .description("Distinct list queries currently running against Trino")
+                        .register(registry);
+            });
+        }
+    }
+
+    /**
+     * Runs the query and returns all mapped rows as an unmodifiable list.
+     * <p>
+     * Concurrent calls with an equal query (same name, SQL text and bound
+     * parameters) are coalesced: only the first one reaches Trino and the
+     * others receive the same list instance.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> List<T> list(SqlQuery<T> query) {
+        if (singleFlight == null) {
+            return fetch(query);
+        }
+        return (List<T>) singleFlight.execute(query, () -> fetch(query));
+    }
+
+    private <T> List<T> fetch(SqlQuery<T> query) {
+        List<T> result = new ArrayList<>();
+        stream(query, result::add);
+        return Collections.unmodifiableList(result);
+    }
+
+    @Override
+    public <T> long stream(SqlQuery<T> query, Consumer<? super T> sink) {
+        logger.debug("Executing Trino query '{}': {} with parameters: {} on URL: {}",
+                query.getName(), query.getSql(), query.getParameters(), jdbcUrl);
+
+        TrinoQueryMetrics.Observation observation = metrics.start(query.getName());
+        RowMapper<T> rowMapper = query.getRowMapper();
+        long count = 0;
+        try (Connection conn = connectionPool.getConnection();
+             Statement stmt = prepare(conn, query);
+             ResultSet rs = stmt instanceof PreparedStatement pstmt
+                     ? pstmt.executeQuery()
+                     : stmt.executeQuery(query.getSql())) {
+
+            while (rs.next()) {
+                T row;
+                if (observation.onRow(count)) {
+                    long mappingStart = System.nanoTime();
+                    row = rowMapper.mapRow(rs, (int) count);
+                    observation.mapped(System.nanoTime() - mappingStart);
+                } else {
+                    row = rowMapper.mapRow(rs, (int) count);
+                }
+                sink.accept(row);
+                count++;
+            }
+            observation.success(count, rs);
+            logger.debug("Query '{}' returned {} rows.", query.getName(), count);
+
+        } catch (SQLException e) {
+            observation.failure(count);
+            logger.error("Failed to execute Trino query '{}' using URL: {}. Error: {}",
+                    query.getName(), jdbcUrl, e.getMessage(), e);
+            throw new RuntimeException("Trino query '" + query.getName() + "' failed: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            // Typically the sink failing, e.g. a client closing a streamed response.
+            observation.failure(count);
+            throw e;
+        }
+        return count;
+    }
+
+    private static Statement prepare(Connection conn, SqlQuery<?> query) throws SQLException {
+        if (query.getParameters().isEmpty()) {
+            return conn.createStatement();
+        }
+        PreparedStatement pstmt = conn.prepareStatement(query.getSql());
+        try {
+            List<Object> parameters = query.getParameters();
+            for (int i = 0; i < parameters.size(); i++) {
+                pstmt.setObject(i + 1, parameters.get(i));
+            }
+        } catch (SQLException e) {
+            pstmt.close();
+            throw e;
+        }
+        return pstmt;
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.trino.jdbc.QueryStats;
+import io.trino.jdbc.TrinoResultSet;
+
+/**
+ * Micrometer instrumentation of repository queries.
+ * <p>
+ * Client-side meters are tagged with the query name (repository method) and
+ * the {@code outcome} ({@code success} or {@code error}), so the partial row
+ * counts and timings of failed queries do not skew those of successful ones:
+ * <ul>
+ *   <li>{@code trino.query} - latency until the last row was consumed</li>
+ *   <li>{@code trino.query.first.row} - time to first row</li>
+ *   <li>{@code trino.query.rows} - rows returned</li>
+ *   <li>{@code trino.query.mapping} - estimated time spent mapping rows</li>
+ * </ul>
+ * Server-side meters come from the driver's {@link QueryStats} and show how
+ * much of the latency was spent in the coordinator:
+ * {@code trino.query.processed.rows}, {@code trino.query.processed.bytes},
+ * {@code trino.query.cpu}, {@code trino.query.queued} and {@code trino.query.wall}.
+ */
+@Component
+public class TrinoQueryMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrinoQueryMetrics.class);
+
+    /** Mapping time is measured on every n-th row and extrapolated, to keep the per-row cost low. */
+    private static final int MAPPING_SAMPLE_MASK = 63;
+
+    private final MeterRegistry registry;
+
+    public TrinoQueryMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+
+    /**
+     * Starts observing one execution of the named query.
+     */
+    public Observation start(String queryName) {
+        return new Observation(queryName, System.nanoTime());
+    }
+
+    /**
+     * Measurements of a single query execution. Not thread-safe; owned by the
+     * thread running the query.
+     */
+    public final class Observation {
+
+        private final String queryName;
+        private final long startNanos;
+        private long sampledMappingNanos;
+        private long sampledRows;
+        /** Nanoseconds from start to the first row, or -1 before it arrived. */
+        private long firstRowNanos = -1;
+
+        private Observation(String queryName, long startNanos) {
+            this.queryName = queryName;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * Called before row {@code rowNum} (zero-based) is mapped.
+         *
+         * @return whether the caller should time the mapping of this row and report it via {@link #mapped(long)}
+         */
+        public boolean onRow(long rowNum) {
+            if (firstRowNanos < 0) {
+                // Recorded when the query ends, once its outcome is known.
+                firstRowNanos = System.nanoTime() - startNanos;
+            }
+            return (rowNum & MAPPING_SAMPLE_MASK) == 0;
+        }
+
+        public void mapped(long nanos) {
+            sampledMappingNanos += nanos;
+            sampledRows++;
+        }
+
+        public void success(long rows, ResultSet rs) {
+            stop("success", rows);
+            recordTrinoStats(rs);
+        }
+
+        public void failure(long rows) {
+            stop("error", rows);
+        }
+
+        private void stop(String outcome, long rows) {
+            Timer.builder("trino.query")
+                    .tag("method", queryName)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            if (firstRowNanos >= 0) {
+                Timer.builder("trino.query.first.row")
+                        .tag("method", queryName)
+                        .tag("outcome", outcome)
+                        .publishPercentileHistogram()
+                        .register(registry)
+                        .record(firstRowNanos, TimeUnit.NANOSECONDS);
+            }
+            DistributionSummary.builder("trino.query.rows")
+                    .tag("method", queryName)
+                    .tag("outcome", outcome)
+                    .baseUnit("rows")
+                    .register(registry)
+                    .record(rows);
+            if (sampledRows > 0) {
+                Timer.builder("trino.query.mapping")
+                        .tag("method", queryName)
+                        .tag("outcome", outcome)
+                        .register(registry)
+                        .record(sampledMappingNanos * rows / sampledRows, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private void recordTrinoStats(ResultSet rs) {
+            QueryStats stats;
+            try {
+                if (!rs.isWrapperFor(TrinoResultSet.class)) {
+                    return;
+                }
+                stats = rs.unwrap(TrinoResultSet.class).getStats();
+            } catch (SQLException e) {
+                logger.debug("Trino query stats unavailable for '{}': {}", queryName, e.getMessage());
+                return;
+            }
+            DistributionSummary.builder("trino.query.processed.rows")
+                    .tag("method", queryName)
+                    .baseUnit("rows")
+                    .register(registry)
+                    .record(stats.getProcessedRows());
+            DistributionSummary.builder("trino.query.processed.bytes")
+                    .tag("method", queryName)
+                    .baseUnit("bytes")
+                    .register(registry)
+                    .record(stats.getProcessedBytes());
+            recordMillis("trino.query.cpu", stats.getCpuTimeMillis());
+            recordMillis("trino.query.queued", stats.getQueuedTimeMillis());
+            recordMillis("trino.query.wall", stats.getWallTimeMillis());
+            logger.debug("Trino query {} for '{}' processed {} rows / {} bytes (cpu: {} ms, queued: {} ms, wall: {} ms)",
+                    stats.getQueryId(), queryName, stats.getProcessedRows(), stats.getProcessedBytes(),
+                    stats.getCpuTimeMillis(), stats.getQueuedTimeMillis(), stats.getWallTimeMillis());
+        }
+
+        private void recordMillis(String name, long millis) {
+            Timer.builder(name)
+                    .tag("method", queryName)
+                    .register(registry)
+                    .record(millis, TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.model.Product;
+
+class ProductArrowWriterTest {
+
+    private final BufferAllocator allocator = new RootAllocator();
+
+    @AfterEach
+    void closeAllocator() {
+        allocator.close();
+    }
+
+    private static Product product(int id, String name, String category, double price, int stock) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setCategory(category);
+        product.setPrice(price);
+        product.setStockQuantity(stock);
+        return product;
+    }
+
+    private byte[] encode(int batchSize, List<Product> products) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ProductArrowWriter writer = new ProductArrowWriter(allocator, out, batchSize)) {
+            writer.start();
+            for (Product product : products) {
+                writer.write(product);
+            }
+            assertThat(writer.finish()).isEqualTo(products.size());
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Reads every batch back, resolving categories through the dictionary
+     * that was current for that batch.
+     */
+    private List<String> decode(byte[] stream, List<Integer> batchSizes) throws IOException {
+        List<String> rows = new ArrayList<>();
+        try (ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(stream), allocator)) {
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            while (reader.loadNextBatch()) {
+                batchSizes.add(root.getRowCount());
+                VarCharVector dictionary = (VarCharVector) reader.getDictionaryVectors().get(0L).getVector();
+                IntVector ids = (IntVector) root.getVector("id");
+                VarCharVector names = (VarCharVector) root.getVector("name");
+                IntVector categories = (IntVector) root.getVector("category");
+                Float8Vector prices = (Float8Vector) root.getVector("price");
+                IntVector stock = (IntVector) root.getVector("stockQuantity");
+                for (int i = 0; i < root.getRowCount(); i++) {
+                    String category = categories.isNull(i) ? null : dictionary.getObject(categories.get(i)).toString();
+                    String name = names.isNull(i) ? null : names.getObject(i).toString();
+                    rows.add(ids.get(i) + "|" + name + "|" + category + "|" + prices.get(i) + "|" + stock.get(i));
+                }
+            }
+        }
+        return rows;
+    }
+
+    @Test
+    @DisplayName("Arrow: Should round-trip products across record batches")
+    void testRoundTrip() throws IOException {
+        byte[] stream = encode(2, List.of(
+                product(1, "Laptop Pro", "Electronics", 1200.50, 50),
+                product(2, "Coffee Mug", "Kitchen", 15.75, 200),
+                product(3, "Gaming Mouse", "Electronics", 75.00, 150),
+                product(4, "Desk Lamp", "Office", 45.99, 75),
+                product(5, null, null, 5.25, 500)));
+
+        List<Integer> batchSizes = new ArrayList<>();
+        assertThat(decode(stream, batchSizes)).containsExactly(
+                "1|Laptop Pro|Electronics|1200.5|50",
+                "2|Coffee Mug|Kitchen|15.75|200",
+                "3|Gaming Mouse|Electronics|75.0|150",
+                "4|Desk Lamp|Office|45.99|75",
+                "5|null|null|5.25|500");
+        assertThat(batchSizes).containsExactly(2, 2, 1);
+    }
+
+    @Test
+    @DisplayName("Arrow: Should write a valid empty stream and release all buffers")
+    void testEmptyStream() throws IOException {
+        byte[] stream = encode(4096, List.of());
+
+        List<Integer> batchSizes = new ArrayList<>();
+        assertThat(decode(stream, batchSizes)).isEmpty();
+        assertThat(batchSizes).isEmpty();
+        assertThat(allocator.getAllocatedMemory()).isZero();
+    }
+}
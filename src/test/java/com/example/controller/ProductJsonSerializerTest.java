@@ -0,0 +1,43 @@
+package com.example.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.model.Product;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+class ProductJsonSerializerTest {
+
+    private final ObjectMapper defaultMapper = new ObjectMapper();
+    private final ObjectMapper tunedMapper = new ObjectMapper()
+            .registerModule(new SimpleModule().addSerializer(new ProductJsonSerializer()));
+
+    private static Product product(int id, String name, String category, double price, int stock) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setCategory(category);
+        product.setPrice(price);
+        product.setStockQuantity(stock);
+        return product;
+    }
+
+    @Test
+    @DisplayName("JSON: Should write the same bytes as the default bean serializer")
+    void testMatchesDefaultSerialization() throws JsonProcessingException {
+        List<Product> products = List.of(
+                product(1, "Laptop Pro", "Electronics", 1200.50, 50),
+                product(2, "12\" Pizza \\ \"XL\"", "Küche\n☃", 1e-7, -3),
+                product(3, null, null, Double.MAX_VALUE, Integer.MAX_VALUE));
+
+        assertThat(tunedMapper.writeValueAsString(products)).isEqualTo(defaultMapper.writeValueAsString(products));
+        assertThat(tunedMapper.writeValueAsString(products.get(0)))
+                .isEqualTo("{\"id\":1,\"name\":\"Laptop Pro\",\"category\":\"Electronics\",\"price\":1200.5,\"stockQuantity\":50}");
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CategoryDictionaryTest {
+
+    @Test
+    @DisplayName("Dictionary: Should assign dense ids on first sight and decode them back")
+    void testEncodeDecode() {
+        CategoryDictionary dictionary = new CategoryDictionary(CategoryDictionary.DEFAULT_MAX_SIZE);
+
+        assertThat(dictionary.encode("Electronics")).isZero();
+        assertThat(dictionary.encode("Kitchen")).isEqualTo(1);
+        assertThat(dictionary.encode(new String("Electronics"))).isZero();
+        assertThat(dictionary.decode(1)).isEqualTo("Kitchen");
+        assertThat(dictionary.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Dictionary: Should look up without adding and map null to NONE")
+    void testLookupAndNull() {
+        CategoryDictionary dictionary = new CategoryDictionary(CategoryDictionary.DEFAULT_MAX_SIZE);
+        dictionary.encode("Office");
+
+        assertThat(dictionary.lookup("Office")).isZero();
+        assertThat(dictionary.lookup("Toys")).isEqualTo(CategoryDictionary.NONE);
+        assertThat(dictionary.size()).isEqualTo(1);
+        assertThat(dictionary.encode(null)).isEqualTo(CategoryDictionary.NONE);
+        assertThat(dictionary.decode(CategoryDictionary.NONE)).isNull();
+        assertThatThrownBy(() -> dictionary.decode(7)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Dictionary: Should stop growing when full and keep serving known ids")
+    void testOverflow() {
+        CategoryDictionary dictionary = new CategoryDictionary(2);
+        dictionary.encode("A");
+        dictionary.encode("B");
+
+        assertThat(dictionary.encode("C")).isEqualTo(CategoryDictionary.NONE);
+        assertThat(dictionary.encode("B")).isEqualTo(1);
+        assertThat(dictionary.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Product: Should share one name instance per category")
+    void testProductCategory() {
+        Product first = new Product();
+        first.setCategory(new String("Garden"));
+        Product second = new Product();
+        second.setCategory(new String("Garden"));
+        Product none = new Product();
+        none.setCategory(null);
+
+        assertThat(first.getCategoryId()).isEqualTo(second.getCategoryId()).isNotEqualTo(CategoryDictionary.NONE);
+        assertThat(first.getCategory()).isEqualTo("Garden").isSameAs(second.getCategory());
+        assertThat(none.getCategory()).isNull();
+        assertThat(none.getCategoryId()).isEqualTo(CategoryDictionary.NONE);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+    private static List<String> categories(int from, int to) {
+        return IntStream.range(from, to).mapToObj(i -> "Category " + i).toList();
+    }
+
+    @Test
+    @DisplayName("Bloom filter: Should never reject a value it was built from")
+    void testNoFalseNegatives() {
+        List<String> known = categories(0, 20_000);
+        BloomFilter filter = BloomFilter.of(known, 0.01);
+        assertThat(known).allMatch(filter::mightContain);
+    }
+
+    @Test
+    @DisplayName("Bloom filter: Should keep the observed false-positive rate near the target")
+    void testFalsePositiveRate() {
+        BloomFilter filter = BloomFilter.of(categories(0, 20_000), 0.01);
+        long falsePositives = categories(20_000, 120_000).stream().filter(filter::mightContain).count();
+
+        assertThat(filter.expectedFalsePositiveRate()).isBetween(0.005, 0.015);
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+    }
+
+    @Test
+    @DisplayName("Bloom filter: Should reject false-positive rates outside (0, 1)")
+    void testInvalidRate() {
+        assertThatThrownBy(() -> BloomFilter.of(List.of("Books"), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BloomFilter.of(List.of("Books"), 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
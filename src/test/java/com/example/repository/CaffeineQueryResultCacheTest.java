@@ -0,0 +1,101 @@
+package com.example.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+class CaffeineQueryResultCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    /** Background work of the cache, run only when a test drains it. */
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private QueryCacheProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new QueryCacheProperties();
+        properties.setEnabled(true);
+        properties.getTtl().put("cached", Duration.ofMinutes(5));
+        properties.setRefreshAfter(Duration.ofSeconds(30));
+        properties.setMaximumSize(DataSize.ofMegabytes(1));
+    }
+
+    private CaffeineQueryResultCache newCache() {
+        // Refreshes are queued so the test decides when they complete.
+        return new CaffeineQueryResultCache(properties, query -> List.of(loads.incrementAndGet()),
+                nanos::get, tasks::add);
+    }
+
+    private void runQueuedTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private static SqlQuery<Integer> query(String name) {
+        return new SqlQuery<>(name, "SELECT 1", (rs, rowNum) -> rs.getInt(1));
+    }
+
+    @Test
+    @DisplayName("Cache: Should serve repeated queries from memory")
+    void testCacheHit() {
+        CaffeineQueryResultCache cache = newCache();
+        assertThat(cache.get(query("cached"))).containsExactly(1);
+        assertThat(cache.get(query("cached"))).containsExactly(1);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Cache: Should bypass queries without a TTL and when disabled")
+    void testCacheBypass() {
+        CaffeineQueryResultCache cache = newCache();
+        cache.get(query("uncached"));
+        cache.get(query("uncached"));
+        assertThat(loads).hasValue(2);
+
+        properties.setEnabled(false);
+        cache.get(query("cached"));
+        cache.get(query("cached"));
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    @DisplayName("Cache: Should serve stale results while refreshing and reload after the TTL")
+    void testStaleWhileRevalidate() {
+        CaffeineQueryResultCache cache = newCache();
+        assertThat(cache.get(query("cached"))).containsExactly(1);
+
+        nanos.addAndGet(Duration.ofSeconds(31).toNanos());
+        // The stale value is returned while the refresh is pending.
+        assertThat(cache.get(query("cached"))).containsExactly(1);
+        assertThat(loads).hasValue(1);
+        runQueuedTasks();
+        assertThat(loads).hasValue(2);
+        assertThat(cache.get(query("cached"))).containsExactly(2);
+
+        nanos.addAndGet(Duration.ofMinutes(6).toNanos());
+        assertThat(cache.get(query("cached"))).containsExactly(3);
+    }
+
+    @Test
+    @DisplayName("Cache: Should drop all entries on invalidateAll")
+    void testInvalidateAll() {
+        CaffeineQueryResultCache cache = newCache();
+        cache.get(query("cached"));
+        cache.invalidateAll();
+        cache.get(query("cached"));
+        assertThat(loads).hasValue(2);
+    }
+}
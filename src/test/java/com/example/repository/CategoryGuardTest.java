@@ -0,0 +1,124 @@
+package com.example.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CategoryGuardTest {
+
+    private final AtomicReference<List<String>> categories =
+            new AtomicReference<>(List.of("Electronics", "Kitchen", "Office"));
+    private final MutableClock clock = new MutableClock();
+    private CategoryGuardProperties properties;
+    private CategoryGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CategoryGuardProperties();
+        properties.setEnabled(true);
+        guard = new CategoryGuard(properties, () -> {
+            List<String> current = categories.get();
+            if (current == null) {
+                throw new RuntimeException("Trino is down");
+            }
+            return current;
+        }, clock, null);
+    }
+
+    @Test
+    @DisplayName("Category guard: Should let everything through before the first rebuild and when disabled")
+    void testPassThrough() {
+        assertThat(guard.mightExist("Books")).isTrue();
+
+        guard.rebuild();
+        properties.setEnabled(false);
+        assertThat(guard.mightExist("Books")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Category guard: Should reject unknown categories with an exact set")
+    void testExactSet() {
+        guard.rebuild();
+        assertThat(guard.mightExist("Office")).isTrue();
+        assertThat(guard.mightExist("Books")).isFalse();
+        assertThat(guard.mightExist(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Category guard: Should switch to a Bloom filter above the exact set limit")
+    void testBloomFilter() {
+        properties.setExactSetLimit(2);
+        guard.rebuild();
+        assertThat(guard.mightExist("Electronics")).isTrue();
+        assertThat(guard.mightExist("Kitchen")).isTrue();
+        assertThat(guard.mightExist("Office")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Category guard: Should keep the previous categories when a rebuild fails")
+    void testFailedRebuild() {
+        guard.rebuild();
+        categories.set(null);
+        assertThat(guard.rebuild()).isFalse();
+        assertThat(guard.mightExist("Kitchen")).isTrue();
+        assertThat(guard.mightExist("Books")).isFalse();
+
+        categories.set(List.of("Books"));
+        assertThat(guard.rebuild()).isTrue();
+        assertThat(guard.mightExist("Books")).isTrue();
+        assertThat(guard.mightExist("Kitchen")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Category guard: Should let every category through once failed rebuilds exceed the staleness bound")
+    void testStalenessBound() {
+        properties.setMaxStaleness(Duration.ofMinutes(15));
+        guard.rebuild();
+        categories.set(null);
+
+        clock.advance(Duration.ofMinutes(15));
+        assertThat(guard.rebuild()).isFalse();
+        assertThat(guard.mightExist("Books")).isFalse();
+
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(guard.mightExist("Books")).isTrue();
+
+        categories.set(List.of("Kitchen"));
+        assertThat(guard.rebuild()).isTrue();
+        assertThat(guard.mightExist("Books")).isFalse();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.EPOCH;
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * PostgreSQL run as a child process from bundled binaries, for machines
+ * without Docker. Selected with {@code -Dproducts.test.backend=embedded}.
+ * <p>
+ * There is no Trino: every repository query is routed to PostgreSQL
+ * ({@code app.products.routing.mode=postgres}) and the Trino pool opens no
+ * connections. Queries that only Trino can run, and assertions on Trino
+ * plans, are skipped by the tests.
+ */
+final class EmbeddedPostgresEnvironment extends TestEnvironment {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddedPostgresEnvironment.class);
+
+    private static final String USER = "postgres";
+
+    private final EmbeddedPostgres postgres;
+
+    EmbeddedPostgresEnvironment() {
+        try {
+            postgres = EmbeddedPostgres.builder().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start embedded PostgreSQL", e);
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                postgres.close();
+            } catch (IOException e) {
+                logger.warn("Error stopping embedded PostgreSQL", e);
+            }
+        }, "embedded-postgres-shutdown"));
+    }
+
+    @Override
+    String postgresJdbcUrl() {
+        return postgres.getJdbcUrl(USER, USER);
+    }
+
+    @Override
+    String postgresUser() {
+        return USER;
+    }
+
+    @Override
+    String postgresPassword() {
+        return USER;
+    }
+
+    @Override
+    String trinoJdbcUrl() {
+        return null;
+    }
+
+    @Override
+    void addProperties(String schema, Map<String, Object> properties) {
+        properties.put("app.products.routing.mode", "postgres");
+        properties.put("app.trino.pool.min-idle", 0);
+        properties.put("app.trino.pool.prewarm", false);
+    }
+}
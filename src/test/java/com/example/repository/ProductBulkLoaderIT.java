@@ -0,0 +1,49 @@
+package com.example.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.example.model.Product;
+
+/**
+ * Loads into a schema of its own, so the rows written here never show up in
+ * the read-only tests running alongside.
+ */
+@SpringBootTest
+public class ProductBulkLoaderIT {
+
+    static final TestEnvironment.Schema schema = TestEnvironment.get().createSchema("bulk_loader");
+
+    @Autowired
+    private ProductBulkLoader bulkLoader;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @DynamicPropertySource
+    static void registerProperties(DynamicPropertyRegistry registry) {
+        schema.registerProperties(registry);
+    }
+
+    @Test
+    @DisplayName("Bulk loader: Should load generated partitions in parallel")
+    void testBulkLoaderPartitions() {
+        ProductBulkLoader.LoadReport report = bulkLoader.loadPartitions(List.of(
+                () -> ProductSeeder.generate(1_000, 6_000),
+                () -> ProductSeeder.generate(6_000, 11_000),
+                () -> ProductSeeder.generate(11_000, 16_000)));
+
+        assertThat(report.getRows()).isEqualTo(15_000);
+        assertThat(report.getPartitions()).isEqualTo(3);
+        assertThat(productRepository.findByIds(List.of(1_000, 15_999, 16_000)))
+                .extracting(Product::getId).containsExactly(1_000, 15_999);
+    }
+}
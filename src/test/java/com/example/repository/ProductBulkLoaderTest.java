@@ -0,0 +1,47 @@
+package com.example.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Iterator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.model.Product;
+
+class ProductBulkLoaderTest {
+
+    private static String csv(int id, String name, String category, double price, int stock) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setCategory(category);
+        product.setPrice(price);
+        product.setStockQuantity(stock);
+        StringBuilder line = new StringBuilder();
+        ProductBulkLoader.appendCsv(line, product);
+        return line.toString();
+    }
+
+    @Test
+    @DisplayName("Bulk loader: Should quote text fields and write NULL as an empty field")
+    void testCsvEncoding() {
+        assertThat(csv(1, "Laptop Pro", "Electronics", 1200.5, 50))
+                .isEqualTo("1,\"Laptop Pro\",\"Electronics\",1200.5,50\n");
+        assertThat(csv(2, "", null, 0, 0)).isEqualTo("2,\"\",,0.0,0\n");
+    }
+
+    @Test
+    @DisplayName("Bulk loader: Should escape quotes and keep separators inside quoted fields")
+    void testCsvEscaping() {
+        assertThat(csv(3, "12\" Pizza, \"XL\"", "Kitchen\nTools", 9.99, 3))
+                .isEqualTo("3,\"12\"\" Pizza, \"\"XL\"\"\",\"Kitchen\nTools\",9.99,3\n");
+    }
+
+    @Test
+    @DisplayName("Bulk loader: Should generate seed products for exactly the requested id range")
+    void testSeedRange() {
+        Iterator<Product> products = ProductSeeder.generate(10, 13);
+        assertThat(products).toIterable().extracting(Product::getId).containsExactly(10, 11, 12);
+    }
+}
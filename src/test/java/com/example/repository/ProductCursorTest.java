@@ -0,0 +1,35 @@
+package com.example.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ProductCursorTest {
+
+    @Test
+    @DisplayName("Cursor: Should round-trip the last id")
+    void testCursorRoundTrip() {
+        assertThat(ProductCursor.decode(ProductCursor.encode(42))).isEqualTo(42);
+        assertThat(ProductCursor.decode(ProductCursor.encode(Integer.MAX_VALUE))).isEqualTo(Integer.MAX_VALUE);
+    }
+
+    @Test
+    @DisplayName("Cursor: Should not expose the raw id")
+    void testCursorIsOpaque() {
+        assertThat(ProductCursor.encode(42)).doesNotContain("42").matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    @DisplayName("Cursor: Should reject tokens it did not produce")
+    void testCursorRejectsForeignTokens() {
+        assertThatIllegalArgumentException().isThrownBy(() -> ProductCursor.decode("42"));
+        assertThatIllegalArgumentException().isThrownBy(() -> ProductCursor.decode("not base64!"));
+        assertThatIllegalArgumentException().isThrownBy(() -> ProductCursor.decode(
+                Base64.getUrlEncoder().encodeToString("v1:abc".getBytes(StandardCharsets.US_ASCII))));
+    }
+}
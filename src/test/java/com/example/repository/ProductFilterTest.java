@@ -0,0 +1,61 @@
+package com.example.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ProductFilterTest {
+
+    private static final String TABLE = "postgresql.public.products";
+
+    @Test
+    @DisplayName("Filter: Should select all columns without predicates by default")
+    void testEmptyFilter() {
+        SqlQuery<?> query = ProductFilter.builder().build().toQuery("search", TABLE, ProductRowMapper.INSTANCE);
+        assertThat(query.getSql()).isEqualTo("SELECT " + ProductRowMapper.COLUMNS + " FROM " + TABLE);
+        assertThat(query.getParameters()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Filter: Should compile every predicate to a bound parameter")
+    void testAllPredicates() {
+        SqlQuery<?> query = ProductFilter.builder()
+                .minPrice(10.0)
+                .maxPrice(100.0)
+                .minStock(5)
+                .maxStock(500)
+                .categories("Office", "Kitchen")
+                .namePrefix("50%_off\\")
+                .sortBy(ProductColumn.PRICE, true)
+                .limit(20)
+                .columns(ProductColumn.ID, ProductColumn.NAME)
+                .build()
+                .toQuery("searchProjected", TABLE, new ProjectionRowMapper(List.of(ProductColumn.ID, ProductColumn.NAME)));
+
+        assertThat(query.getSql()).isEqualTo("SELECT id, name FROM " + TABLE
+                + " WHERE price >= ? AND price <= ? AND stock_quantity >= ? AND stock_quantity <= ?"
+                + " AND category IN (?, ?) AND name LIKE ? ESCAPE '\\'"
+                + " ORDER BY price DESC, id LIMIT ?");
+        assertThat(query.getParameters()).containsExactly(
+                10.0, 100.0, 5, 500, "Office", "Kitchen", "50\\%\\_off\\\\%", 20L);
+    }
+
+    @Test
+    @DisplayName("Filter: Should reject filters that cannot be pushed down or contradict themselves")
+    void testInvalidFilters() {
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                ProductFilter.builder().minPrice(10.0).maxPrice(1.0).build());
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                ProductFilter.builder().sortBy(ProductColumn.NAME, false).limit(10).build());
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                ProductFilter.builder().sortBy(ProductColumn.PRICE, false).build());
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                ProductFilter.builder().limit(0).build());
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                ProductFilter.builder().columns(ProductColumn.ID, ProductColumn.ID).build());
+    }
+}
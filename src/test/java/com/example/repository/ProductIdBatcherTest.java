@@ -0,0 +1,93 @@
+package com.example.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.model.Product;
+
+class ProductIdBatcherTest {
+
+    private final List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+    private ProductIdBatcher batcher;
+
+    private ProductIdBatcher newBatcher(Duration window, int maxBatchSize) {
+        // Only even ids exist.
+        batcher = new ProductIdBatcher(ids -> {
+            batches.add(List.copyOf(ids));
+            return ids.stream().filter(id -> id % 2 == 0).map(ProductIdBatcherTest::product).toList();
+        }, Runnable::run, window, maxBatchSize, null);
+        return batcher;
+    }
+
+    private static Product product(int id) {
+        Product product = new Product();
+        product.setId(id);
+        return product;
+    }
+
+    @AfterEach
+    void tearDown() {
+        batcher.close();
+    }
+
+    @Test
+    @DisplayName("Batcher: Should merge lookups within one window into a single query")
+    void testLookupsAreMerged() throws Exception {
+        newBatcher(Duration.ofMillis(200), 100);
+        CompletableFuture<Optional<Product>> first = batcher.load(2);
+        CompletableFuture<Optional<Product>> second = batcher.load(3);
+        CompletableFuture<Optional<Product>> duplicate = batcher.load(2);
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).map(Product::getId).contains(2);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEmpty();
+        assertThat(duplicate).isSameAs(first);
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).containsExactlyInAnyOrder(2, 3);
+    }
+
+    @Test
+    @DisplayName("Batcher: Should flush as soon as a batch is full")
+    void testFullBatchIsFlushedImmediately() {
+        newBatcher(Duration.ofHours(1), 2);
+        CompletableFuture<Optional<Product>> first = batcher.load(4);
+        CompletableFuture<Optional<Product>> second = batcher.load(6);
+
+        assertThat(first).isCompletedWithValueMatching(Optional::isPresent);
+        assertThat(second).isCompletedWithValueMatching(Optional::isPresent);
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).containsExactlyInAnyOrder(4, 6);
+    }
+
+    @Test
+    @DisplayName("Batcher: Should query every id on its own when the window is zero")
+    void testBatchingDisabled() {
+        newBatcher(Duration.ZERO, 100);
+        assertThat(batcher.load(8)).isCompletedWithValueMatching(Optional::isPresent);
+        assertThat(batcher.load(9)).isCompletedWithValue(Optional.empty());
+        assertThat(batches).containsExactly(List.of(8), List.of(9));
+    }
+
+    @Test
+    @DisplayName("Batcher: Should fail every lookup of a batch whose query failed")
+    void testFailedBatch() {
+        batcher = new ProductIdBatcher(ids -> {
+            throw new RuntimeException("Trino is down");
+        }, Runnable::run, Duration.ZERO, 100, null);
+
+        assertThatThrownBy(() -> batcher.load(1).get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasRootCauseMessage("Trino is down");
+    }
+}
@@ -2,182 +2,80 @@ package com.example.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
-import org.awaitility.Awaitility;
-import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.junit.jupiter.api.TestInstance;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
-import org.testcontainers.containers.Network;
-import org.testcontainers.containers.PostgreSQLContainer;
-import org.testcontainers.containers.TrinoContainer;
-import org.testcontainers.containers.wait.strategy.Wait;
-import org.testcontainers.utility.MountableFile;
 
+import com.example.model.CategoryStats;
 import com.example.model.Product;
+import com.example.model.ProductPage;
 
+/**
+ * Read-only repository tests. The five products are loaded once into a schema
+ * owned by this class, so the test methods can run concurrently. Tests of
+ * Trino plans and Trino-only queries are skipped on the embedded backend.
+ */
 @SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
 public class ProductRepositoryIT {
 
-    private static final Logger logger = LoggerFactory.getLogger(ProductRepositoryIT.class);
+    static final TestEnvironment.Schema schema = TestEnvironment.get().createSchema("repository");
 
     @Autowired
     private ProductRepository productRepository;
 
-    static Network network = Network.newNetwork();
-
-    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
-            .withNetwork(network)
-            .withNetworkAliases("mypostgres")
-            .withDatabaseName("testdb")
-            .withUsername("testuser")
-            .withPassword("testpass");
-
-    static final int TRINO_INTERNAL_PORT = 8080;
+    @Autowired
+    private ProductIdBatcher idBatcher;
 
-    static TrinoContainer trino = new TrinoContainer("trinodb/trino:440")
-            .withNetwork(network)
-            .waitingFor(Wait.forHttp("/v1/info")
-                    .forPort(TRINO_INTERNAL_PORT)
-                    .forStatusCode(200)
-                    .withStartupTimeout(Duration.ofSeconds(90)));
+    @Autowired
+    private ProductBulkLoader bulkLoader;
 
+    @Autowired
+    private RoutingQueryExecutor queryRouter;
 
-    static Path tempCatalogFile;
-    static String trinoBaseJdbcUrl;
-    static String trinoUser = "test_trino_user";
+    @DynamicPropertySource
+    static void registerProperties(DynamicPropertyRegistry registry) {
+        schema.registerProperties(registry);
+        // Small IN-lists so that id lookups of the five test rows are split into chunks.
+        registry.add("app.products.batch.chunk-size", () -> 2);
+    }
 
     @BeforeAll
-    static void beforeAll() throws IOException {
-        logger.info("Starting dependent services for integration tests...");
-        postgres.start();
-
-        String catalogPropertiesContent = String.format(
-                "connector.name=postgresql\n" +
-                        "connection-url=jdbc:postgresql://mypostgres:5432/%s\n" +
-                        "connection-user=%s\n" +
-                        "connection-password=%s\n",
-                postgres.getDatabaseName(),
-                postgres.getUsername(),
-                postgres.getPassword()
-        );
-        Path tempCatalogDir = Files.createTempDirectory("trino_catalog_test_");
-        tempCatalogFile = tempCatalogDir.resolve("postgresql.properties");
-        Files.writeString(tempCatalogFile, catalogPropertiesContent, StandardCharsets.UTF_8);
-
-        trino.withCopyFileToContainer(
-                        MountableFile.forHostPath(tempCatalogFile.toAbsolutePath().toString()),
-                        "/etc/trino/catalog/postgresql.properties"
-                )
-                .dependsOn(postgres);
-
-        trino.start();
-
-        trinoBaseJdbcUrl = String.format("jdbc:trino://%s:%d",
-                trino.getHost(), trino.getMappedPort(TRINO_INTERNAL_PORT));
-
-        waitForPostgresqlCatalogInTrino();
-        logger.info("Dependent services started and configured.");
-    }
-
-    static void waitForPostgresqlCatalogInTrino() {
-        logger.info("Waiting for Trino to recognize the 'postgresql' catalog...");
-        Awaitility.await()
-                .atMost(60, TimeUnit.SECONDS)
-                .pollInterval(2, TimeUnit.SECONDS)
-                .ignoreExceptionsInstanceOf(SQLException.class)
-                .untilAsserted(() -> {
-                    try (Connection conn = DriverManager.getConnection(trinoBaseJdbcUrl, trinoUser, null);
-                         Statement stmt = conn.createStatement();
-                         ResultSet rs = stmt.executeQuery("SHOW CATALOGS LIKE 'postgresql'")) {
-                        assertThat(rs.next()).as("PostgreSQL catalog should be available in Trino").isTrue();
-                        logger.info("'postgresql' catalog is now available in Trino.");
-                    }
-                });
-    }
-
-    @AfterAll
-    static void afterAll() {
-        logger.info("Stopping dependent services...");
-        try { if (trino != null) trino.stop(); } catch (Exception e) { logger.warn("Error stopping Trino", e); }
-        try { if (postgres != null) postgres.stop(); } catch (Exception e) { logger.warn("Error stopping PostgreSQL", e); }
-        try { if (network != null) network.close(); } catch (Exception e) { logger.warn("Error closing Docker network", e); }
-        try {
-            if (tempCatalogFile != null) {
-                Files.deleteIfExists(tempCatalogFile);
-                Files.deleteIfExists(tempCatalogFile.getParent());
-            }
-        } catch (IOException e) { logger.warn("Error deleting temp catalog file", e); }
-        logger.info("Dependent services stopped and cleaned up.");
+    void setupData() {
+        ProductBulkLoader.LoadReport report = bulkLoader.load(List.of(
+                product(1, "Laptop Pro", "Electronics", 1200.50, 50),
+                product(2, "Coffee Mug", "Kitchen", 15.75, 200),
+                product(3, "Gaming Mouse", "Electronics", 75.00, 150),
+                product(4, "Desk Lamp", "Office", 45.99, 75),
+                product(5, "Notebook Basic", "Office", 5.25, 500)));
+        assertThat(report.getRows()).isEqualTo(5);
     }
 
-    @DynamicPropertySource
-    static void registerProperties(DynamicPropertyRegistry registry) {
-        registry.add("app.trino.jdbc.url", () -> trinoBaseJdbcUrl);
-        registry.add("app.trino.jdbc.user", () -> trinoUser);
-        registry.add("app.trino.jdbc.password", () -> null);
-
-        registry.add("spring.datasource.url", postgres::getJdbcUrl);
-        registry.add("spring.datasource.username", postgres::getUsername);
-        registry.add("spring.datasource.password", postgres::getPassword);
-    }
-
-    @BeforeEach
-    void setupData() throws SQLException {
-        logger.debug("Populating PostgreSQL with test data for products table...");
-        try (Connection pgConn = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
-             Statement pgStmt = pgConn.createStatement()) {
-            pgStmt.execute("DROP TABLE IF EXISTS products");
-            pgStmt.execute("CREATE TABLE products (id INT PRIMARY KEY, name VARCHAR(255), category VARCHAR(255), price DOUBLE PRECISION, stock_quantity INT)");
-            pgStmt.execute("INSERT INTO products (id, name, category, price, stock_quantity) VALUES (1, 'Laptop Pro', 'Electronics', 1200.50, 50)");
-            pgStmt.execute("INSERT INTO products (id, name, category, price, stock_quantity) VALUES (2, 'Coffee Mug', 'Kitchen', 15.75, 200)");
-            pgStmt.execute("INSERT INTO products (id, name, category, price, stock_quantity) VALUES (3, 'Gaming Mouse', 'Electronics', 75.00, 150)");
-            pgStmt.execute("INSERT INTO products (id, name, category, price, stock_quantity) VALUES (4, 'Desk Lamp', 'Office', 45.99, 75)");
-            pgStmt.execute("INSERT INTO products (id, name, category, price, stock_quantity) VALUES (5, 'Notebook Basic', 'Office', 5.25, 500)");
-        }
-        waitForTableVisibleInTrino("public", "products");
-        logger.debug("Test data populated and table 'products' visible in Trino.");
-    }
-
-    void waitForTableVisibleInTrino(String schemaName, String tableName) {
-        logger.info("Waiting for table 'postgresql.{}.{}' to become visible in Trino...", schemaName, tableName);
-        String formattedQuery = String.format(Locale.ROOT, "SHOW TABLES FROM postgresql.%s LIKE '%s'",
-                schemaName, tableName.toLowerCase(Locale.ROOT));
-        Awaitility.await()
-                .atMost(30, TimeUnit.SECONDS)
-                .pollInterval(1, TimeUnit.SECONDS)
-                .ignoreExceptionsInstanceOf(SQLException.class)
-                .untilAsserted(() -> {
-                    try (Connection conn = DriverManager.getConnection(trinoBaseJdbcUrl, trinoUser, null);
-                         Statement stmt = conn.createStatement();
-                         ResultSet rs = stmt.executeQuery(formattedQuery)) {
-                        assertThat(rs.next())
-                                .as("Table 'postgresql.%s.%s' should be visible in Trino", schemaName, tableName)
-                                .isTrue();
-                        logger.info("Table 'postgresql.{}.{}' is now visible in Trino.", schemaName, tableName);
-                    }
-                });
+    private static Product product(int id, String name, String category, double price, int stockQuantity) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setCategory(category);
+        product.setPrice(price);
+        product.setStockQuantity(stockQuantity);
+        return product;
     }
 
     @Test
@@ -211,4 +109,179 @@ public class ProductRepositoryIT {
         assertThat(books).isEmpty();
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("Repository: Should stream all products without materializing a list")
+    void testRepositoryStreamsAllProducts() {
+        List<String> names = new ArrayList<>();
+        long count = productRepository.streamAll(product -> names.add(product.getName()));
+        assertThat(count).isEqualTo(5);
+        assertThat(names).containsExactlyInAnyOrder(
+                "Laptop Pro", "Coffee Mug", "Gaming Mouse", "Desk Lamp", "Notebook Basic");
+    }
+
+    @Test
+    @DisplayName("Repository: Should walk all products page by page using the continuation token")
+    void testRepositoryKeysetPagination() {
+        ProductPage first = productRepository.findPage(null, 2);
+        assertThat(first.getItems()).extracting(Product::getId).containsExactly(1, 2);
+        assertThat(first.getNextCursor()).isNotNull();
+
+        ProductPage second = productRepository.findPage(first.getNextCursor(), 2);
+        assertThat(second.getItems()).extracting(Product::getId).containsExactly(3, 4);
+
+        ProductPage last = productRepository.findPage(second.getNextCursor(), 2);
+        assertThat(last.getItems()).extracting(Product::getId).containsExactly(5);
+        assertThat(last.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Repository: Should run several queries concurrently through the async API")
+    void testRepositoryAsyncQueries() throws Exception {
+        CompletableFuture<List<Product>> all = productRepository.findAllAsync();
+        CompletableFuture<List<Product>> office = productRepository.findByCategoryAsync("Office");
+        CompletableFuture<List<Product>> kitchen = productRepository.findByCategoryAsync("Kitchen", Duration.ofSeconds(30));
+
+        assertThat(all.get(30, TimeUnit.SECONDS)).hasSize(5);
+        assertThat(office.join()).extracting(Product::getName)
+                .containsExactlyInAnyOrder("Desk Lamp", "Notebook Basic");
+        assertThat(kitchen.join()).extracting(Product::getName).containsExactly("Coffee Mug");
+    }
+
+    @Test
+    @DisplayName("Repository: Should apply every filter, ordering, limit and projection of a search")
+    void testRepositorySearchWithFilters() {
+        List<Product> cheapest = productRepository.search(ProductFilter.builder()
+                .maxPrice(100.0)
+                .minStock(100)
+                .categories("Electronics", "Kitchen", "Office")
+                .sortBy(ProductColumn.PRICE, false)
+                .limit(2)
+                .build());
+        assertThat(cheapest).extracting(Product::getName).containsExactly("Notebook Basic", "Coffee Mug");
+
+        List<Map<String, Object>> names = productRepository.searchProjected(ProductFilter.builder()
+                .namePrefix("Note")
+                .columns(ProductColumn.ID, ProductColumn.NAME)
+                .build());
+        assertThat(names).containsExactly(Map.of("id", 5, "name", "Notebook Basic"));
+    }
+
+    @Test
+    @DisplayName("Pushdown: Should push every filter, limit and projection into the PostgreSQL connector")
+    void testSearchIsFullyPushedDown() throws SQLException {
+        assumeTrue(schema.hasTrino(), "needs Trino");
+        ProductFilter filter = ProductFilter.builder()
+                .minPrice(10.0)
+                .maxPrice(1000.0)
+                .minStock(10)
+                .maxStock(400)
+                .categories("Electronics", "Office")
+                .namePrefix("Desk")
+                .sortBy(ProductColumn.PRICE, true)
+                .limit(3)
+                .columns(ProductColumn.ID, ProductColumn.NAME)
+                .build();
+        TrinoPlanAssertions.assertFullyPushedDown(schema.getTrinoJdbcUrl(), TrinoTestEnvironment.TRINO_USER,
+                schema.getName(), filter.toQuery("searchProjected", ProductRepository.PRODUCTS_TABLE, (rs, rowNum) -> null),
+                "id", "name");
+    }
+
+    @Test
+    @DisplayName("Pushdown: Should push a category IN-list on its own into the PostgreSQL connector")
+    void testCategoryInListIsPushedDown() throws SQLException {
+        assumeTrue(schema.hasTrino(), "needs Trino");
+        ProductFilter filter = ProductFilter.builder().categories("Electronics", "Office").build();
+        TrinoPlanAssertions.assertFullyPushedDown(schema.getTrinoJdbcUrl(), TrinoTestEnvironment.TRINO_USER,
+                schema.getName(), filter.toQuery("search", ProductRepository.PRODUCTS_TABLE, (rs, rowNum) -> null));
+    }
+
+    @Test
+    @DisplayName("Pushdown: Should push a name prefix on its own into the PostgreSQL connector")
+    void testNamePrefixIsPushedDown() throws SQLException {
+        assumeTrue(schema.hasTrino(), "needs Trino");
+        ProductFilter filter = ProductFilter.builder().namePrefix("Desk").build();
+        TrinoPlanAssertions.assertFullyPushedDown(schema.getTrinoJdbcUrl(), TrinoTestEnvironment.TRINO_USER,
+                schema.getName(), filter.toQuery("search", ProductRepository.PRODUCTS_TABLE, (rs, rowNum) -> null));
+    }
+
+    @Test
+    @DisplayName("Pushdown: Should read only the projected columns of an unlimited search")
+    void testProjectionWithoutLimitIsPushedDown() throws SQLException {
+        assumeTrue(schema.hasTrino(), "needs Trino");
+        ProductFilter filter = ProductFilter.builder()
+                .minPrice(10.0)
+                .columns(ProductColumn.ID, ProductColumn.PRICE)
+                .build();
+        TrinoPlanAssertions.assertFullyPushedDown(schema.getTrinoJdbcUrl(), TrinoTestEnvironment.TRINO_USER,
+                schema.getName(), filter.toQuery("searchProjected", ProductRepository.PRODUCTS_TABLE, (rs, rowNum) -> null),
+                "id", "price");
+    }
+
+    @Test
+    @DisplayName("Repository: Should aggregate products per category in the database")
+    void testRepositoryCategoryStats() {
+        assumeTrue(schema.hasTrino(), "needs Trino");
+        List<CategoryStats> stats = productRepository.findCategoryStats();
+
+        assertThat(stats).extracting(CategoryStats::getCategory).containsExactly("Electronics", "Kitchen", "Office");
+        CategoryStats electronics = stats.get(0);
+        assertThat(electronics.getProductCount()).isEqualTo(2);
+        assertThat(electronics.getTotalStock()).isEqualTo(200);
+        assertThat(electronics.getMinPrice()).isEqualTo(75.00);
+        assertThat(electronics.getAvgPrice()).isCloseTo(637.75, within(1e-9));
+        assertThat(electronics.getMaxPrice()).isEqualTo(1200.50);
+        assertThat(electronics.getInventoryValue()).isCloseTo(1200.50 * 50 + 75.00 * 150, within(1e-9));
+        assertThat(stats.get(2).getInventoryValue()).isCloseTo(45.99 * 75 + 5.25 * 500, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("Pushdown: Should group products per category inside PostgreSQL")
+    void testCategoryStatsAreComputedInPostgresql() throws SQLException {
+        assumeTrue(schema.hasTrino(), "needs Trino");
+        TrinoPlanAssertions.assertFullyPushedDown(schema.getTrinoJdbcUrl(), TrinoTestEnvironment.TRINO_USER,
+                schema.getName(), new SqlQuery<>("findCategoryStats",
+                        ProductRepository.categoryStatsSql(TrinoTestEnvironment.CATALOG, schema.getName()),
+                        (rs, rowNum) -> null));
+    }
+
+    @Test
+    @DisplayName("Repository: Should derive the data version from PostgreSQL table statistics")
+    void testRepositoryDataVersion() {
+        assumeTrue(schema.hasTrino(), "needs Trino");
+        ProductDataVersion version = productRepository.findTableVersion().orElseThrow();
+        assertThat(version.getTag()).isNotBlank();
+        assertThat(productRepository.findDataVersion()).map(ProductDataVersion::getTag).contains(version.getTag());
+    }
+
+    @Test
+    @DisplayName("Repository: Should fetch products by id in parallel IN-list chunks")
+    void testRepositoryFindByIds() {
+        List<Product> products = productRepository.findByIds(List.of(5, 1, 3, 42, 1, 2));
+        assertThat(products).extracting(Product::getId).containsExactly(1, 2, 3, 5);
+        assertThat(productRepository.findByIds(List.of())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Repository: Should merge concurrent single-id lookups into batches")
+    void testIdBatcherLookups() throws Exception {
+        CompletableFuture<Optional<Product>> laptop = idBatcher.load(1);
+        CompletableFuture<Optional<Product>> missing = idBatcher.load(42);
+
+        assertThat(laptop.get(30, TimeUnit.SECONDS)).map(Product::getName).contains("Laptop Pro");
+        assertThat(missing.get(30, TimeUnit.SECONDS)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Routing: Should answer id lookups from PostgreSQL and scans through Trino")
+    void testQueryRouting() {
+        assertThat(queryRouter.route(new SqlQuery<>("findById", QueryKind.POINT, "SELECT 1", (rs, rowNum) -> null)))
+                .isEqualTo(RoutingQueryExecutor.Route.POSTGRES);
+        assertThat(productRepository.findById(4)).map(Product::getName).contains("Desk Lamp");
+        assertThat(productRepository.findById(42)).isEmpty();
+        // Scans and Trino-only queries keep working through the default catalog and schema.
+        assertThat(productRepository.findAll()).hasSize(5);
+        if (schema.hasTrino()) {
+            assertThat(productRepository.findCategoryStats()).hasSize(3);
+        }
+    }
+}
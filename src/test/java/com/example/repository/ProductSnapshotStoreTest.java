@@ -0,0 +1,147 @@
+package com.example.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.model.Product;
+
+class ProductSnapshotStoreTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final AtomicBoolean failing = new AtomicBoolean();
+    private volatile ProductDataVersion tableVersion = new ProductDataVersion("v1", Instant.EPOCH);
+    /** Version the table moves to while the next load reads it, or {@code null}. */
+    private volatile ProductDataVersion writeDuringLoad;
+    private ProductSnapshotProperties properties;
+    private ProductSnapshotStore store;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ProductSnapshotProperties();
+        properties.setEnabled(true);
+        properties.setMaxStaleness(Duration.ofMinutes(5));
+        store = new ProductSnapshotStore(properties, () -> {
+            if (failing.get()) {
+                throw new RuntimeException("Trino is down");
+            }
+            Product product = new Product();
+            product.setId(loads.incrementAndGet());
+            if (writeDuringLoad != null) {
+                tableVersion = writeDuringLoad;
+            }
+            return List.of(product);
+        }, () -> Optional.ofNullable(tableVersion), clock, null);
+    }
+
+    @Test
+    @DisplayName("Snapshot store: Should serve nothing until the first load and when disabled")
+    void testNoSnapshot() {
+        assertThat(store.current()).isEmpty();
+
+        assertThat(store.reload()).isTrue();
+        assertThat(store.current()).isPresent();
+
+        properties.setEnabled(false);
+        assertThat(store.current()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Snapshot store: Should swap in the new snapshot on reload")
+    void testReloadSwapsSnapshot() {
+        store.reload();
+        ProductSnapshot first = store.current().orElseThrow();
+
+        clock.advance(Duration.ofMinutes(1));
+        store.reload();
+
+        ProductSnapshot second = store.current().orElseThrow();
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.findById(2)).isPresent();
+        assertThat(first.findById(2)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Snapshot store: Should keep the last snapshot on failure until it exceeds the staleness bound")
+    void testStalenessBound() {
+        store.reload();
+        failing.set(true);
+
+        clock.advance(Duration.ofMinutes(5));
+        assertThat(store.reload()).isFalse();
+        assertThat(store.current()).isPresent();
+
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(store.current()).isEmpty();
+
+        failing.set(false);
+        assertThat(store.reload()).isTrue();
+        assertThat(store.current()).isPresent();
+    }
+
+    @Test
+    @DisplayName("Snapshot store: Should tag snapshots with the table version, not the reload time")
+    void testSnapshotVersion() {
+        store.reload();
+        clock.advance(Duration.ofMinutes(1));
+        store.reload();
+        assertThat(store.current().flatMap(ProductSnapshot::getVersion)).map(ProductDataVersion::getTag).contains("v1");
+
+        tableVersion = new ProductDataVersion("v2", clock.instant());
+        store.reload();
+        assertThat(store.current().flatMap(ProductSnapshot::getVersion)).map(ProductDataVersion::getTag).contains("v2");
+
+        tableVersion = null;
+        store.reload();
+        assertThat(store.current().flatMap(ProductSnapshot::getVersion)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Snapshot store: Should not tag a snapshot when the data changed during the load")
+    void testVersionChangedDuringLoad() {
+        writeDuringLoad = new ProductDataVersion("v2", Instant.EPOCH);
+        store.reload();
+        assertThat(store.current().flatMap(ProductSnapshot::getVersion)).isEmpty();
+
+        writeDuringLoad = null;
+        store.reload();
+        assertThat(store.current().flatMap(ProductSnapshot::getVersion)).map(ProductDataVersion::getTag).contains("v2");
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.EPOCH;
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.model.Product;
+
+class ProductSnapshotTest {
+
+    private static Product product(int id, String category, double price) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName("Product " + id);
+        product.setCategory(category);
+        product.setPrice(price);
+        product.setStockQuantity(10);
+        return product;
+    }
+
+    private final ProductSnapshot snapshot = new ProductSnapshot(List.of(
+            product(3, "Electronics", 75.00),
+            product(1, "Electronics", 1200.50),
+            product(5, "Office", 5.25),
+            product(4, "Office", 45.99),
+            product(2, null, 45.99)), Instant.EPOCH);
+
+    @Test
+    @DisplayName("Snapshot: Should list products by id and look them up by primary key")
+    void testPrimaryKeyIndex() {
+        assertThat(snapshot.findAll()).extracting(Product::getId).containsExactly(1, 2, 3, 4, 5);
+        assertThat(snapshot.findById(4)).map(Product::getPrice).contains(45.99);
+        assertThat(snapshot.findById(6)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Snapshot: Should look up categories like an equality predicate")
+    void testCategoryIndex() {
+        assertThat(snapshot.findByCategory("Office")).extracting(Product::getId).containsExactly(4, 5);
+        assertThat(snapshot.findByCategory("Toys")).isEmpty();
+        assertThat(snapshot.findByCategory(null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Snapshot: Should answer inclusive price ranges ordered by price and id")
+    void testPriceIndex() {
+        assertThat(snapshot.findByPriceRange(45.99, 75.00)).extracting(Product::getId).containsExactly(2, 4, 3);
+        assertThat(snapshot.findByPriceRange(0, Double.MAX_VALUE)).hasSize(5);
+        assertThat(snapshot.findByPriceRange(6, 45)).isEmpty();
+        assertThat(snapshot.findByPriceRange(2000, 3000)).isEmpty();
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ProductVersionTrackerTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final AtomicReference<String> checksum = new AtomicReference<>("5:5:975:1342.49:5");
+    private final AtomicInteger checks = new AtomicInteger();
+    private final AtomicInteger changes = new AtomicInteger();
+    private final AtomicBoolean failing = new AtomicBoolean();
+
+    private ProductVersionTracker tracker(boolean enabled) {
+        return new ProductVersionTracker(enabled, () -> {
+            checks.incrementAndGet();
+            if (failing.get()) {
+                throw new RuntimeException("Trino is down");
+            }
+            return checksum.get();
+        }, changes::incrementAndGet, clock, Duration.ofSeconds(1), null);
+    }
+
+    @Test
+    @DisplayName("Data version: Should recompute the checksum at most once per check interval")
+    void testCheckInterval() {
+        ProductVersionTracker tracker = tracker(true);
+        ProductDataVersion first = tracker.current().orElseThrow();
+        tracker.current();
+        assertThat(checks).hasValue(1);
+
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(tracker.current()).containsSame(first);
+        assertThat(checks).hasValue(2);
+        assertThat(changes).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Data version: Should issue a new tag and drop cached results when the checksum changes")
+    void testChange() {
+        ProductVersionTracker tracker = tracker(true);
+        ProductDataVersion first = tracker.current().orElseThrow();
+        assertThat(first.getLastModified()).isEqualTo(Instant.EPOCH);
+
+        checksum.set("6:6:976:1343.49:6");
+        clock.advance(Duration.ofMillis(1500));
+        ProductDataVersion second = tracker.current().orElseThrow();
+
+        assertThat(second.getTag()).isNotEqualTo(first.getTag());
+        assertThat(second.getLastModified()).isEqualTo(Instant.EPOCH.plusSeconds(1));
+        assertThat(changes).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Data version: Should serve no version while the checksum fails, and detect changes made meanwhile")
+    void testFailure() {
+        ProductVersionTracker tracker = tracker(true);
+        tracker.current();
+
+        failing.set(true);
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(tracker.current()).isEmpty();
+        assertThat(tracker.current()).isEmpty();
+        assertThat(checks).hasValue(2);
+
+        failing.set(false);
+        checksum.set("4:5:925:1340.00:7");
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(tracker.current()).isPresent();
+        assertThat(changes).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Data version: Should not query anything when disabled")
+    void testDisabled() {
+        assertThat(tracker(false).current()).isEmpty();
+        assertThat(checks).hasValue(0);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.EPOCH;
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
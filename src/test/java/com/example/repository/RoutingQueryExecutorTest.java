@@ -0,0 +1,54 @@
+package com.example.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.repository.RoutingQueryExecutor.Mode;
+import com.example.repository.RoutingQueryExecutor.Route;
+
+class RoutingQueryExecutorTest {
+
+    private static Route route(Mode mode, QueryKind kind) {
+        return new RoutingQueryExecutor(null, null, mode, null)
+                .route(new SqlQuery<>("query", kind, "SELECT 1", (rs, rowNum) -> null));
+    }
+
+    @Test
+    @DisplayName("Routing: Should send selective queries to PostgreSQL and the rest to Trino in auto mode")
+    void testAutoMode() {
+        assertThat(route(Mode.AUTO, QueryKind.POINT)).isEqualTo(Route.POSTGRES);
+        assertThat(route(Mode.AUTO, QueryKind.RANGE)).isEqualTo(Route.POSTGRES);
+        assertThat(route(Mode.AUTO, QueryKind.SCAN)).isEqualTo(Route.TRINO);
+        assertThat(route(Mode.AUTO, QueryKind.AGGREGATE)).isEqualTo(Route.TRINO);
+        assertThat(route(Mode.AUTO, QueryKind.FEDERATED)).isEqualTo(Route.TRINO);
+    }
+
+    @Test
+    @DisplayName("Routing: Should force one engine, except for Trino-only queries")
+    void testOverrideModes() {
+        assertThat(route(Mode.TRINO, QueryKind.POINT)).isEqualTo(Route.TRINO);
+        assertThat(route(Mode.POSTGRES, QueryKind.SCAN)).isEqualTo(Route.POSTGRES);
+        assertThat(route(Mode.POSTGRES, QueryKind.FEDERATED)).isEqualTo(Route.TRINO);
+    }
+
+    @Test
+    @DisplayName("Routing: Should keep searches that scan and sort unindexed columns on Trino")
+    void testFilterRouting() {
+        RoutingQueryExecutor router = new RoutingQueryExecutor(null, null, Mode.AUTO, null);
+        ProductFilter topByPrice = ProductFilter.builder().sortBy(ProductColumn.PRICE, true).limit(10).build();
+        ProductFilter namePrefix = ProductFilter.builder().namePrefix("Lap").limit(10).build();
+        ProductFilter firstById = ProductFilter.builder().sortBy(ProductColumn.ID, false).limit(10).build();
+
+        assertThat(router.route(topByPrice.toQuery("search", "products", (rs, rowNum) -> null))).isEqualTo(Route.TRINO);
+        assertThat(router.route(namePrefix.toQuery("search", "products", (rs, rowNum) -> null))).isEqualTo(Route.TRINO);
+        assertThat(router.route(firstById.toQuery("search", "products", (rs, rowNum) -> null))).isEqualTo(Route.POSTGRES);
+    }
+
+    @Test
+    @DisplayName("Routing: Should treat queries without an explicit kind as scans")
+    void testDefaultKind() {
+        assertThat(new SqlQuery<>("query", "SELECT 1", (rs, rowNum) -> null).getKind()).isEqualTo(QueryKind.SCAN);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    @Test
+    @DisplayName("SingleFlight: Should share one execution between concurrent identical calls")
+    void testConcurrentCallsShareOneExecution() throws Exception {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 8;
+
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> singleFlight.execute("findAll", () -> {
+                    executions.incrementAndGet();
+                    await(release);
+                    return 42;
+                })));
+            }
+            // Wait until every caller has joined the in-flight execution.
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (singleFlight.getCoalescedCount() < callers - 1 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+            for (Future<Integer> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(executions).hasValue(1);
+        assertThat(singleFlight.getCoalescedCount()).isEqualTo(callers - 1);
+        assertThat(singleFlight.getInFlightCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("SingleFlight: Should not remember results once a call has completed")
+    void testSequentialCallsExecuteAgain() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        AtomicInteger executions = new AtomicInteger();
+        singleFlight.execute("findAll", executions::incrementAndGet);
+        singleFlight.execute("findAll", executions::incrementAndGet);
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("SingleFlight: Should propagate the failure and release the key")
+    void testFailureIsPropagated() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        assertThatIllegalStateException().isThrownBy(() -> singleFlight.execute("findAll", () -> {
+            throw new IllegalStateException("Trino down");
+        }));
+        assertThat(singleFlight.execute("findAll", () -> 1)).isEqualTo(1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
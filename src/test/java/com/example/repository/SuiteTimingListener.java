@@ -0,0 +1,54 @@
+package com.example.repository;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Logs the wall-clock time of the whole test run, which is what parallel
+ * execution improves; per-test times reported by the build tool add up
+ * concurrent work instead. Registered through
+ * {@code META-INF/services/org.junit.platform.launcher.TestExecutionListener}.
+ */
+public class SuiteTimingListener implements TestExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuiteTimingListener.class);
+
+    private final AtomicInteger tests = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+    /** Tests stopped by a failed assumption, e.g. Trino-only tests on the embedded backend. */
+    private final AtomicInteger aborted = new AtomicInteger();
+    private volatile long startNanos;
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        startNanos = System.nanoTime();
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult result) {
+        if (testIdentifier.isTest()) {
+            tests.incrementAndGet();
+            if (result.getStatus() == TestExecutionResult.Status.FAILED) {
+                failures.incrementAndGet();
+            } else if (result.getStatus() == TestExecutionResult.Status.ABORTED) {
+                aborted.incrementAndGet();
+            }
+        }
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+        Duration containers = TestEnvironment.startupTime();
+        logger.info("Test suite finished in {} ms wall-clock: {} tests, {} failed, {} aborted{}.",
+                elapsed.toMillis(), tests.get(), failures.get(), aborted.get(),
+                containers == null ? "" : ", backend started in " + containers.toMillis() + " ms");
+    }
+}
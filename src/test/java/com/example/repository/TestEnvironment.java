@@ -0,0 +1,158 @@
+package com.example.repository;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+/**
+ * Backend shared by every integration test in the JVM.
+ * <p>
+ * The implementation is chosen with the {@code products.test.backend} system
+ * property: {@code containers} (default) runs PostgreSQL and Trino in Docker,
+ * {@code embedded} runs PostgreSQL in-process and routes every query to it.
+ * Test classes isolate their data with {@link #createSchema(String)}: each gets
+ * a PostgreSQL schema of its own and a Spring context whose connections
+ * default to it.
+ */
+abstract class TestEnvironment {
+
+    private static final Logger logger = LoggerFactory.getLogger(TestEnvironment.class);
+
+    static final String BACKEND_PROPERTY = "products.test.backend";
+
+    private static final String CREATE_PRODUCTS_TABLE = "CREATE TABLE %s." + ProductRepository.PRODUCTS_TABLE
+            + " (id INT PRIMARY KEY, name VARCHAR(255), category VARCHAR(255), price DOUBLE PRECISION, stock_quantity INT)";
+
+    private static TestEnvironment instance;
+    private static Duration startupTime;
+
+    private final AtomicInteger schemaSequence = new AtomicInteger();
+
+    /**
+     * Returns the shared environment, starting the backend on first call.
+     */
+    static synchronized TestEnvironment get() {
+        if (instance == null) {
+            String backend = System.getProperty(BACKEND_PROPERTY, "containers");
+            logger.info("Starting '{}' test backend...", backend);
+            long start = System.nanoTime();
+            instance = switch (backend) {
+                case "containers" -> new TrinoTestEnvironment();
+                case "embedded" -> new EmbeddedPostgresEnvironment();
+                default -> throw new IllegalArgumentException("Unknown " + BACKEND_PROPERTY + ": " + backend);
+            };
+            startupTime = Duration.ofNanos(System.nanoTime() - start);
+            logger.info("Test backend '{}' started in {} ms.", backend, startupTime.toMillis());
+        }
+        return instance;
+    }
+
+    /**
+     * Time spent starting the backend, or {@code null} if no test has needed
+     * it in this JVM.
+     */
+    static synchronized Duration startupTime() {
+        return startupTime;
+    }
+
+    /**
+     * Creates a new schema holding an empty {@code products} table.
+     *
+     * @param prefix readable part of the schema name, typically the test class
+     */
+    Schema createSchema(String prefix) {
+        String name = (prefix + "_" + schemaSequence.incrementAndGet()).toLowerCase(Locale.ROOT);
+        try (Connection conn = DriverManager.getConnection(postgresJdbcUrl(), postgresUser(), postgresPassword());
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE SCHEMA " + name);
+            stmt.execute(String.format(Locale.ROOT, CREATE_PRODUCTS_TABLE, name));
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to create test schema " + name, e);
+        }
+        schemaCreated(name);
+        logger.info("Created test schema '{}'.", name);
+
+        Map<String, Object> properties = new LinkedHashMap<>();
+        String jdbcUrl = postgresJdbcUrl();
+        properties.put("spring.datasource.url", jdbcUrl + (jdbcUrl.contains("?") ? "&" : "?") + "currentSchema=" + name);
+        properties.put("spring.datasource.username", postgresUser());
+        properties.put("spring.datasource.password", postgresPassword());
+        // The table already exists; schema.sql and data.sql would only recreate it.
+        properties.put("spring.sql.init.mode", "never");
+        addProperties(name, properties);
+        return new Schema(name, trinoJdbcUrl(), properties);
+    }
+
+    abstract String postgresJdbcUrl();
+
+    abstract String postgresUser();
+
+    abstract String postgresPassword();
+
+    /**
+     * @return the Trino JDBC URL, or {@code null} if this backend has no Trino
+     */
+    abstract String trinoJdbcUrl();
+
+    /**
+     * Called after {@code schema} and its table were created in PostgreSQL.
+     */
+    void schemaCreated(String schema) {
+    }
+
+    /**
+     * Adds the backend's application properties for a context using {@code schema}.
+     */
+    abstract void addProperties(String schema, Map<String, Object> properties);
+
+    /**
+     * A PostgreSQL schema owned by one test class.
+     */
+    static final class Schema {
+
+        private final String name;
+        private final String trinoJdbcUrl;
+        private final Map<String, Object> properties;
+
+        private Schema(String name, String trinoJdbcUrl, Map<String, Object> properties) {
+            this.name = name;
+            this.trinoJdbcUrl = trinoJdbcUrl;
+            this.properties = Collections.unmodifiableMap(properties);
+        }
+
+        String getName() {
+            return name;
+        }
+
+        /**
+         * Whether queries can reach Trino. Tests of Trino plans and of
+         * Trino-only queries are skipped when they cannot.
+         */
+        boolean hasTrino() {
+            return trinoJdbcUrl != null;
+        }
+
+        String getTrinoJdbcUrl() {
+            return trinoJdbcUrl;
+        }
+
+        /**
+         * Points the application at the backend with this schema as the
+         * default for both Trino and PostgreSQL connections.
+         */
+        void registerProperties(DynamicPropertyRegistry registry) {
+            properties.forEach((key, value) -> registry.add(key, () -> value));
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Inspects pool counters, so it runs in a context of its own where no
+ * concurrent test borrows connections from the same pool.
+ */
+@SpringBootTest
+public class TrinoConnectionPoolIT {
+
+    static final TestEnvironment.Schema schema = TestEnvironment.get().createSchema("connection_pool");
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TrinoConnectionPool connectionPool;
+
+    @DynamicPropertySource
+    static void registerProperties(DynamicPropertyRegistry registry) {
+        schema.registerProperties(registry);
+    }
+
+    @Test
+    @DisplayName("Repository: Should reuse pooled Trino connections across queries")
+    void testRepositoryReusesPooledConnections() {
+        assumeTrue(schema.hasTrino(), "needs Trino");
+        productRepository.findAll();
+        productRepository.findByCategory("Office");
+        assertThat(connectionPool.getPoolStats().getTotalConnections()).isBetween(1, 10);
+        assertThat(connectionPool.getPoolStats().getActiveConnections()).isZero();
+    }
+}
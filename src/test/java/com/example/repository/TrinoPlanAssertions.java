@@ -0,0 +1,115 @@
+package com.example.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Test harness that runs {@code EXPLAIN} for a repository query and asserts
+ * that Trino pushed all of its work into the PostgreSQL connector.
+ * <p>
+ * A fully pushed-down plan consists of an output node over a single
+ * {@code TableScan}; any filtering, sorting, limiting or aggregation that
+ * Trino would have to do itself shows up as a separate plan node.
+ */
+final class TrinoPlanAssertions {
+
+    /** Plan nodes that mean Trino evaluates part of the query over fetched rows. */
+    private static final List<String> TRINO_SIDE_NODES = List.of(
+            "ScanFilter", "Filter[", "TopN", "Limit", "Aggregate", "Sort[", "Window", "Join");
+
+    private TrinoPlanAssertions() {
+    }
+
+    /**
+     * Asserts that every predicate, the limit, ordering and aggregation of
+     * {@code query} were pushed down, and that the table scan reads no other
+     * columns than {@code expectedColumns}. Unqualified tables resolve in
+     * {@code schema} of the PostgreSQL catalog.
+     */
+    static String assertFullyPushedDown(String trinoJdbcUrl, String user, String schema, SqlQuery<?> query,
+                                        String... expectedColumns) throws SQLException {
+        String plan = explain(trinoJdbcUrl, user, schema, inlineParameters(query));
+        for (String node : TRINO_SIDE_NODES) {
+            assertThat(plan)
+                    .as("Query '%s' should be pushed down, but the plan contains %s:%n%s", query.getName(), node, plan)
+                    .doesNotContain(node);
+        }
+        assertThat(plan).as("Plan of '%s' should scan the table:%n%s", query.getName(), plan).contains("TableScan");
+        if (expectedColumns.length > 0) {
+            String scannedColumns = scannedColumns(plan);
+            for (ProductColumn productColumn : ProductColumn.values()) {
+                String column = productColumn.column();
+                boolean expected = List.of(expectedColumns).contains(column);
+                assertThat(scannedColumns.contains(column + ":"))
+                        .as("Column '%s' %s be read by '%s':%n%s", column, expected ? "should" : "should not",
+                                query.getName(), plan)
+                        .isEqualTo(expected);
+            }
+        }
+        return plan;
+    }
+
+    private static String explain(String trinoJdbcUrl, String user, String schema, String sql) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (Connection conn = DriverManager.getConnection(trinoJdbcUrl, user, null)) {
+            // Same defaults as TrinoConnectionPool, for queries on unqualified tables.
+            conn.setCatalog(TrinoTestEnvironment.CATALOG);
+            conn.setSchema(schema);
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("EXPLAIN " + sql)) {
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+            }
+        }
+        return plan.toString();
+    }
+
+    /**
+     * Returns the output column list of the {@code TableScan} node.
+     */
+    private static String scannedColumns(String plan) {
+        int scan = plan.indexOf("TableScan");
+        int layoutStart = plan.indexOf("Layout: [", scan);
+        int layoutEnd = plan.indexOf(']', layoutStart);
+        return layoutStart < 0 ? plan.substring(scan) : plan.substring(layoutStart, layoutEnd + 1);
+    }
+
+    /**
+     * Replaces every {@code ?} with its bound value as a SQL literal, because
+     * {@code EXPLAIN} is run as a plain statement. Each literal has the type
+     * the driver binds for the value, so the plan is the one that runs:
+     * an unmarked {@code 10.0} would be a {@code DECIMAL} in Trino, not the
+     * {@code DOUBLE} of a bound {@code Double}. Integers stay plain so that
+     * they remain valid as a {@code LIMIT}.
+     */
+    static String inlineParameters(SqlQuery<?> query) {
+        StringBuilder sql = new StringBuilder();
+        int parameter = 0;
+        for (char c : query.getSql().toCharArray()) {
+            if (c == '?') {
+                sql.append(literal(query.getParameters().get(parameter++)));
+            } else {
+                sql.append(c);
+            }
+        }
+        return sql.toString();
+    }
+
+    private static String literal(Object value) {
+        if (value instanceof String text) {
+            return "'" + text.replace("'", "''") + "'";
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return "DOUBLE '" + value + "'";
+        }
+        return String.format(Locale.ROOT, "%s", value);
+    }
+}
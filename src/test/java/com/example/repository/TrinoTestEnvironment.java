@@ -0,0 +1,135 @@
+package com.example.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.awaitility.Awaitility;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.TrinoContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.lifecycle.Startables;
+
+/**
+ * PostgreSQL and Trino in Docker, the default {@link TestEnvironment}.
+ * <p>
+ * Both containers are started concurrently and stay up until the JVM exits,
+ * when the Testcontainers reaper removes them. The Trino catalog only holds
+ * connection settings and PostgreSQL is contacted lazily, so Trino does not
+ * have to wait for the database to be ready before it boots. Trino sees each
+ * test schema as {@code postgresql.<schema>}.
+ */
+final class TrinoTestEnvironment extends TestEnvironment {
+
+    static final String TRINO_USER = "test_trino_user";
+    static final String CATALOG = "postgresql";
+
+    private static final int TRINO_INTERNAL_PORT = 8080;
+    private static final String POSTGRES_ALIAS = "mypostgres";
+
+    private final PostgreSQLContainer<?> postgres;
+    private final TrinoContainer trino;
+    private final String trinoJdbcUrl;
+
+    TrinoTestEnvironment() {
+        Network network = Network.newNetwork();
+        postgres = new PostgreSQLContainer<>("postgres:15")
+                .withNetwork(network)
+                .withNetworkAliases(POSTGRES_ALIAS)
+                .withDatabaseName("testdb")
+                .withUsername("testuser")
+                .withPassword("testpass");
+        String catalogProperties = String.format(Locale.ROOT,
+                "connector.name=postgresql\n"
+                        + "connection-url=jdbc:postgresql://%s:5432/%s\n"
+                        + "connection-user=%s\n"
+                        + "connection-password=%s\n",
+                POSTGRES_ALIAS, postgres.getDatabaseName(), postgres.getUsername(), postgres.getPassword());
+        trino = new TrinoContainer("trinodb/trino:440")
+                .withNetwork(network)
+                .withCopyToContainer(Transferable.of(catalogProperties), "/etc/trino/catalog/" + CATALOG + ".properties")
+                .waitingFor(Wait.forHttp("/v1/info")
+                        .forPort(TRINO_INTERNAL_PORT)
+                        .forStatusCode(200)
+                        .withStartupTimeout(Duration.ofSeconds(90)));
+
+        Startables.deepStart(postgres, trino).join();
+        trinoJdbcUrl = String.format(Locale.ROOT, "jdbc:trino://%s:%d",
+                trino.getHost(), trino.getMappedPort(TRINO_INTERNAL_PORT));
+        waitForCatalog();
+    }
+
+    @Override
+    String postgresJdbcUrl() {
+        return postgres.getJdbcUrl();
+    }
+
+    @Override
+    String postgresUser() {
+        return postgres.getUsername();
+    }
+
+    @Override
+    String postgresPassword() {
+        return postgres.getPassword();
+    }
+
+    @Override
+    String trinoJdbcUrl() {
+        return trinoJdbcUrl;
+    }
+
+    /**
+     * Waits until Trino lists the new schema's table.
+     */
+    @Override
+    void schemaCreated(String schema) {
+        String query = String.format(Locale.ROOT, "SHOW TABLES FROM %s.%s LIKE '%s'",
+                CATALOG, schema, ProductRepository.PRODUCTS_TABLE);
+        Awaitility.await()
+                .atMost(30, TimeUnit.SECONDS)
+                .pollInterval(250, TimeUnit.MILLISECONDS)
+                .ignoreExceptionsInstanceOf(SQLException.class)
+                .untilAsserted(() -> {
+                    try (Connection conn = DriverManager.getConnection(trinoJdbcUrl, TRINO_USER, null);
+                         Statement stmt = conn.createStatement();
+                         ResultSet rs = stmt.executeQuery(query)) {
+                        assertThat(rs.next())
+                                .as("Table '%s.%s.%s' should be visible in Trino", CATALOG, schema, ProductRepository.PRODUCTS_TABLE)
+                                .isTrue();
+                    }
+                });
+    }
+
+    @Override
+    void addProperties(String schema, Map<String, Object> properties) {
+        properties.put("app.trino.jdbc.url", trinoJdbcUrl);
+        properties.put("app.trino.jdbc.user", TRINO_USER);
+        properties.put("app.trino.jdbc.catalog", CATALOG);
+        properties.put("app.trino.jdbc.schema", schema);
+    }
+
+    private void waitForCatalog() {
+        Awaitility.await()
+                .atMost(60, TimeUnit.SECONDS)
+                .pollInterval(250, TimeUnit.MILLISECONDS)
+                .ignoreExceptionsInstanceOf(SQLException.class)
+                .untilAsserted(() -> {
+                    try (Connection conn = DriverManager.getConnection(trinoJdbcUrl, TRINO_USER, null);
+                         Statement stmt = conn.createStatement();
+                         ResultSet rs = stmt.executeQuery("SHOW CATALOGS LIKE '" + CATALOG + "'")) {
+                        assertThat(rs.next()).as("PostgreSQL catalog should be available in Trino").isTrue();
+                    }
+                });
+    }
+}